@@ -0,0 +1,112 @@
+package com.litecard.api;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Client-side token bucket whose refill rate adapts with AIMD
+ * (additive increase, multiplicative decrease).
+ *
+ * Every response is reported back through {@link #onResponse}: a 429/503 halves the
+ * rate, a response slower than the latency target trims it by 10%, and fast successes
+ * add {@code increaseStep} requests/second, up to {@code maxRate}. Both are applied at
+ * most once per cool-down window: one burst of 429s does not collapse the rate to the
+ * floor, and the increase stays additive per window however many responses arrive in it
+ * (at N responses/second a per-response step would grow the rate by N steps a second).
+ */
+public class AdaptiveRateLimiter {
+
+    private static final double THROTTLE_FACTOR = 0.5;
+    private static final double SLOW_FACTOR = 0.9;
+
+    private final double minRate;
+    private final double maxRate;
+    private final double increaseStep;
+    private final double burst;
+    private final long latencyTargetNanos;
+    private final long coolDownNanos;
+
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+    private long lastDecreaseNanos;
+    private long lastIncreaseNanos;
+
+    public AdaptiveRateLimiter(double initialRate, double minRate, double maxRate, Duration latencyTarget) {
+        this(initialRate, minRate, maxRate, 1.0, Math.max(1, initialRate / 10), latencyTarget, Duration.ofSeconds(1));
+    }
+
+    public AdaptiveRateLimiter(double initialRate, double minRate, double maxRate, double increaseStep,
+                               double burst, Duration latencyTarget, Duration coolDown) {
+        if (minRate <= 0 || maxRate < minRate) throw new IllegalArgumentException("Invalid rate bounds");
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increaseStep = increaseStep;
+        this.burst = Math.max(1, burst);
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.coolDownNanos = coolDown.toNanos();
+        this.rate = Math.min(maxRate, Math.max(minRate, initialRate));
+        this.tokens = this.burst;
+        this.lastDecreaseNanos = lastRefillNanos - coolDownNanos;
+        this.lastIncreaseNanos = lastRefillNanos;
+    }
+
+    /** Blocks until a request may be sent */
+    public void acquire() {
+        long waitNanos = reserve();
+        while (waitNanos > 0) {
+            long until = System.nanoTime() + waitNanos;
+            LockSupport.parkNanos(waitNanos);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a rate limit permit");
+            }
+            waitNanos = until - System.nanoTime();
+        }
+    }
+
+    /**
+     * Takes a permit and returns how long the caller must wait before using it (0 = send now).
+     * Used by the async path, which schedules the send instead of blocking.
+     */
+    public synchronized long reserve() {
+        refill(System.nanoTime());
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) (-tokens / rate * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /** Feeds the outcome of a request back into the rate; status 0 means the request failed with an I/O error */
+    public synchronized void onResponse(int status, long latencyNanos) {
+        long now = System.nanoTime();
+        refill(now);
+        if (status == 429 || status == 503) {
+            decrease(now, THROTTLE_FACTOR);
+        } else if (status == 0 || latencyNanos > latencyTargetNanos) {
+            decrease(now, SLOW_FACTOR);
+        } else if (status < 500 && now - lastIncreaseNanos >= coolDownNanos) {
+            lastIncreaseNanos = now;
+            rate = Math.min(maxRate, rate + increaseStep);
+        }
+    }
+
+    public synchronized double currentRate() {
+        return rate;
+    }
+
+    private void decrease(long now, double factor) {
+        if (now - lastDecreaseNanos < coolDownNanos) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        // The next increase waits a full window after a decrease
+        lastIncreaseNanos = now;
+        rate = Math.max(minRate, rate * factor);
+    }
+
+    private void refill(long now) {
+        double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        lastRefillNanos = now;
+        tokens = Math.min(burst, tokens + elapsedSeconds * rate);
+    }
+}
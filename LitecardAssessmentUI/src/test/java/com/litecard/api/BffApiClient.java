@@ -0,0 +1,187 @@
+package com.litecard.api;
+
+import com.litecard.metrics.Metrics;
+import com.litecard.metrics.Timer;
+import config.TestConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Thin client for the Litecard bff-api (the same endpoints the Postman collection calls).
+ *
+ * All instances share one HTTP/2 {@link HttpClient}, so connections are multiplexed
+ * across threads instead of being opened per request. Every call goes through a
+ * {@link RetryScheduler}: an adaptive rate limit, retries with backoff and a per-request deadline.
+ * A {@link #direct} client skips the scheduler and sends each request exactly once, for load
+ * generation, where throttling and retries would hide the degradation being measured.
+ */
+public class BffApiClient {
+
+    public static final String DEFAULT_BASE_URL = "https://bff-api.demo.litecard.io/api/v1";
+
+    private static final HttpClient SHARED_CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private static volatile RetryScheduler sharedScheduler;
+
+    private final String baseUrl;
+    private final String token;
+    private final Duration requestTimeout;
+    private final RetryScheduler scheduler; // null: sent once, no rate limit
+
+    public BffApiClient(String baseUrl, String token) {
+        this(baseUrl, token, Duration.ofSeconds(30), sharedScheduler());
+    }
+
+    public BffApiClient(String baseUrl, String token, Duration requestTimeout, RetryScheduler scheduler) {
+        String url = (baseUrl == null || baseUrl.isBlank()) ? DEFAULT_BASE_URL : baseUrl.trim();
+        this.baseUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        this.token = token;
+        this.requestTimeout = requestTimeout;
+        this.scheduler = scheduler;
+    }
+
+    /** Client for api.base.url using the shared, config-driven rate limiter and retry settings */
+    public static BffApiClient fromConfig(String token) {
+        return new BffApiClient(TestConfig.get().string("api.base.url"), token);
+    }
+
+    /** Client that sends every request once, without the rate limiter or retries */
+    public static BffApiClient direct(String baseUrl, String token) {
+        return new BffApiClient(baseUrl, token, Duration.ofSeconds(30), null);
+    }
+
+    /**
+     * One limiter for the whole JVM, so concurrent clients share the bff-api budget.
+     * Built from the api.rate.* / api.retry.* properties on first use.
+     */
+    public static RetryScheduler sharedScheduler() {
+        if (sharedScheduler == null) {
+            synchronized (BffApiClient.class) {
+                if (sharedScheduler == null) {
+                    AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(
+                            TestConfig.get().apiRateInitial(),
+                            TestConfig.get().apiRateMin(),
+                            TestConfig.get().apiRateMax(),
+                            TestConfig.get().apiLatencyTarget());
+                    sharedScheduler = new RetryScheduler(limiter,
+                            TestConfig.get().apiRetryMaxAttempts(),
+                            TestConfig.get().apiRetryBaseDelay(),
+                            TestConfig.get().apiRetryMaxDelay(),
+                            TestConfig.get().apiRequestDeadline());
+                }
+            }
+        }
+        return sharedScheduler;
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    public HttpResponse<String> get(String path) {
+        return send(request(path).GET().build());
+    }
+
+    public CompletableFuture<HttpResponse<String>> getAsync(String path) {
+        return sendAsync(request(path).GET().build());
+    }
+
+    public HttpResponse<String> patch(String path, String jsonBody) {
+        return send(jsonRequest(path, "PATCH", jsonBody));
+    }
+
+    public CompletableFuture<HttpResponse<String>> patchAsync(String path, String jsonBody) {
+        return sendAsync(jsonRequest(path, "PATCH", jsonBody));
+    }
+
+    public HttpResponse<String> post(String path, String jsonBody) {
+        return send(jsonRequest(path, "POST", jsonBody));
+    }
+
+    public CompletableFuture<HttpResponse<String>> postAsync(String path, String jsonBody) {
+        return sendAsync(jsonRequest(path, "POST", jsonBody));
+    }
+
+    /**
+     * Sends a request on the calling thread (rate-limited, retried). Each attempt is timed as step
+     * {@link #stepName}, without the rate-limit wait or backoff before it.
+     */
+    public HttpResponse<String> send(HttpRequest request) {
+        Timer timer = Metrics.timer(stepName(request));
+        if (scheduler != null) {
+            return scheduler.send(SHARED_CLIENT, request, timer);
+        }
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+        try {
+            response = sendOnce(request);
+            return response;
+        } finally {
+            timer.record(start, System.nanoTime(), response != null && response.statusCode() < 500);
+        }
+    }
+
+    /** Sends a request without blocking the calling thread (rate-limited, retried); timed per attempt like {@link #send} */
+    public CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request) {
+        Timer timer = Metrics.timer(stepName(request));
+        if (scheduler != null) {
+            return scheduler.sendAsync(SHARED_CLIENT, request, timer);
+        }
+        long start = System.nanoTime();
+        return SHARED_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) ->
+                timer.record(start, System.nanoTime(), error == null && response.statusCode() < 500));
+    }
+
+    private static HttpResponse<String> sendOnce(HttpRequest request) {
+        try {
+            return SHARED_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new RuntimeException(request.method() + " " + request.uri() + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(request.method() + " " + request.uri() + " was interrupted", e);
+        }
+    }
+
+    /** "http.GET /card/{id}": query dropped and id-like path segments collapsed so timers stay few */
+    private String stepName(HttpRequest request) {
+        String path = request.uri().getRawPath();
+        String basePath = URI.create(baseUrl).getRawPath();
+        if (basePath != null && !basePath.isEmpty() && path.startsWith(basePath)) {
+            path = path.substring(basePath.length());
+        }
+        StringBuilder step = new StringBuilder("http.").append(request.method()).append(' ');
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) continue;
+            step.append('/').append(segment.chars().anyMatch(Character::isDigit) ? "{id}" : segment);
+        }
+        return step.toString();
+    }
+
+    private HttpRequest jsonRequest(String path, String method, String jsonBody) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(jsonBody))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + (path.startsWith("/") ? path : "/" + path)))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json");
+        if (token != null && !token.isBlank()) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+}
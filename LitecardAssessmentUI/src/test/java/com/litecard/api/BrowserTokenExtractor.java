@@ -0,0 +1,52 @@
+package com.litecard.api;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Pulls the bff-api bearer token out of a logged-in dashboard session.
+ *
+ * The dashboard uses the Auth0 SPA SDK, which caches tokens in web storage under
+ * "@@auth0spajs@@::..." keys; a plain "access_token" entry or cookie is accepted as well.
+ */
+public class BrowserTokenExtractor {
+
+    private static final String FIND_TOKEN_JS =
+            "function pick(store) {" +
+            "  if (!store) return null;" +
+            "  for (var i = 0; i < store.length; i++) {" +
+            "    var key = store.key(i);" +
+            "    var raw = store.getItem(key);" +
+            "    if (!raw) continue;" +
+            "    if (key.indexOf('auth0') < 0 && key.toLowerCase().indexOf('token') < 0) continue;" +
+            "    try {" +
+            "      var v = JSON.parse(raw);" +
+            "      var t = (v && v.body && v.body.access_token) || (v && v.access_token);" +
+            "      if (t) return t;" +
+            "    } catch (e) {" +
+            "      if (/^eyJ[\\w-]+\\.[\\w-]+\\./.test(raw)) return raw;" +
+            "    }" +
+            "  }" +
+            "  return null;" +
+            "}" +
+            "return pick(window.localStorage) || pick(window.sessionStorage);";
+
+    /** Returns the access token of the current session, or throws if none can be found */
+    public static String extract(WebDriver driver) {
+        Object fromStorage = ((JavascriptExecutor) driver).executeScript(FIND_TOKEN_JS);
+        if (fromStorage instanceof String && !((String) fromStorage).isBlank()) {
+            System.out.println("Extracted bearer token from browser storage.");
+            return (String) fromStorage;
+        }
+
+        for (Cookie cookie : driver.manage().getCookies()) {
+            if (cookie.getName().toLowerCase().contains("access_token")) {
+                System.out.println("Extracted bearer token from cookie: " + cookie.getName());
+                return cookie.getValue();
+            }
+        }
+
+        throw new RuntimeException("No access token found in browser session - is the admin logged in?");
+    }
+}
@@ -0,0 +1,241 @@
+package com.litecard.api;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Java port of the Postman card update flows ("Update Birthday",
+ * "Process INACTIVE Logic" and "Process DELETED Logic").
+ *
+ * Rows of email_to_cardId.csv that no flow targets are dropped while planning,
+ * so no request is ever sent for them. Each remaining card runs its actions in
+ * Postman order (birthday, INACTIVE, DELETED) on its own virtual thread; at most
+ * {@code concurrency} cards are in flight at once.
+ */
+public class CardBulkUpdater {
+
+    public enum Action { BDAY, INACTIVE, DELETED }
+
+    private final BffApiClient api;
+    private final int concurrency;
+
+    public CardBulkUpdater(BffApiClient api, int concurrency) {
+        this.api = api;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * Reads the email,cardId CSV and keeps only the cards that have something to do.
+     * Mirrors the BDAY_IDS / INACTIVE_ID / DELETED_ID environment variables of the collection;
+     * a null or blank ID means that flow is not configured. Rows without a cardId are skipped.
+     */
+    public static List<CardTask> plan(Path csv, Set<String> birthdayIds, String inactiveId, String deletedId,
+                                      String newBirthday) throws IOException {
+        List<CardTask> tasks = new ArrayList<>();
+        int skipped = 0;
+        try (Reader reader = Files.newBufferedReader(csv);
+             CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build().parse(reader)) {
+            for (CSVRecord row : parser) {
+                String email = row.get("email").trim();
+                String cardId = row.get("cardId").trim();
+                if (cardId.isEmpty()) {
+                    // A pass whose cardId was never resolved; "" would otherwise match an unset ID
+                    skipped++;
+                    continue;
+                }
+
+                List<Action> actions = new ArrayList<>();
+                if (birthdayIds.contains(cardId)) actions.add(Action.BDAY);
+                if (isConfigured(inactiveId) && cardId.equals(inactiveId.trim())) actions.add(Action.INACTIVE);
+                if (isConfigured(deletedId) && cardId.equals(deletedId.trim())) actions.add(Action.DELETED);
+
+                if (actions.isEmpty()) {
+                    skipped++;
+                } else {
+                    tasks.add(new CardTask(email, cardId, actions, newBirthday));
+                }
+            }
+        }
+        System.out.println("Planned " + tasks.size() + " card(s) for update, skipped " + skipped + " row(s) from " + csv);
+        return tasks;
+    }
+
+    private static boolean isConfigured(String id) {
+        return id != null && !id.isBlank();
+    }
+
+    /** Runs every task and returns one result per action, in task order */
+    public List<UpdateResult> run(List<CardTask> tasks) {
+        return run(tasks, result -> { });
+    }
+
+    /**
+     * Same as {@link #run(List)}, also handing each result to {@code onResult} as soon as its action
+     * completes (from the card's virtual thread), so callers can journal progress before the run ends
+     */
+    public List<UpdateResult> run(List<CardTask> tasks, Consumer<UpdateResult> onResult) {
+        Semaphore permits = new Semaphore(concurrency);
+        List<Future<List<UpdateResult>>> futures = new ArrayList<>(tasks.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (CardTask task : tasks) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return process(task, onResult);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<UpdateResult> results = new ArrayList<>();
+            for (Future<List<UpdateResult>> future : futures) {
+                results.addAll(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Bulk card update was interrupted", e);
+        } catch (Exception e) {
+            throw new RuntimeException("Bulk card update failed: " + e.getMessage(), e);
+        }
+    }
+
+    private List<UpdateResult> process(CardTask task, Consumer<UpdateResult> onResult) {
+        List<UpdateResult> results = new ArrayList<>(task.actions().size());
+        for (Action action : task.actions()) {
+            UpdateResult result;
+            try {
+                switch (action) {
+                    case BDAY -> result = updateBirthday(task.cardId(), task.birthday());
+                    case INACTIVE -> result = updateStatus(task.cardId(), "INACTIVE");
+                    default -> result = updateStatus(task.cardId(), "DELETED");
+                }
+            } catch (RuntimeException e) {
+                result = new UpdateResult(task.cardId(), action, false, 0, e.getMessage());
+            }
+            System.out.println((result.ok() ? "OK   " : "FAIL ") + action + " " + task.cardId() + " - " + result.message());
+            onResult.accept(result);
+            results.add(result);
+        }
+        return results;
+    }
+
+    // PATCH /card with a new birthday, then GET /card/{id} and compare cardOwnerCopy.birthday
+    private UpdateResult updateBirthday(String cardId, String birthdayIso) {
+        JsonObject payload = new JsonObject();
+        payload.addProperty("birthday", birthdayIso);
+        JsonObject body = new JsonObject();
+        body.addProperty("cardId", cardId);
+        body.add("cardPayload", payload);
+
+        HttpResponse<String> patch = api.patch("/card", body.toString());
+        if (!is2xx(patch.statusCode())) {
+            return new UpdateResult(cardId, Action.BDAY, false, patch.statusCode(), "PATCH /card returned " + patch.body());
+        }
+
+        HttpResponse<String> get = api.get("/card/" + cardId);
+        if (!is2xx(get.statusCode())) {
+            return new UpdateResult(cardId, Action.BDAY, false, get.statusCode(), "GET /card returned " + get.body());
+        }
+        JsonObject card = JsonParser.parseString(get.body()).getAsJsonObject();
+        String found = card.has("cardOwnerCopy") && card.getAsJsonObject("cardOwnerCopy").has("birthday")
+                ? card.getAsJsonObject("cardOwnerCopy").get("birthday").getAsString()
+                : null;
+        boolean matches = found != null && sameSecond(found, birthdayIso);
+        return new UpdateResult(cardId, Action.BDAY, matches, get.statusCode(),
+                matches ? "birthday verified" : "expected birthday " + birthdayIso + " but was " + found);
+    }
+
+    // POST /card/status, then GET /card/{id}; "already inactive" / "already deleted" answers count as success
+    private UpdateResult updateStatus(String cardId, String status) {
+        Action action = Action.valueOf(status);
+        JsonObject body = new JsonObject();
+        body.addProperty("cardId", cardId);
+        body.addProperty("status", status);
+
+        HttpResponse<String> update = api.post("/card/status", body.toString());
+        String message = messageOf(update.body());
+
+        if (update.statusCode() == 200) {
+            HttpResponse<String> get = api.get("/card/" + cardId);
+            if ("DELETED".equals(status) && isCardNotFound(get)) {
+                return new UpdateResult(cardId, action, true, get.statusCode(), "card deleted (CARD_NOT_FOUND)");
+            }
+            String actual = is2xx(get.statusCode()) ? statusOf(get.body()) : null;
+            boolean ok = status.equals(actual);
+            return new UpdateResult(cardId, action, ok, get.statusCode(),
+                    ok ? "status verified" : "expected status " + status + " but was " + actual);
+        }
+        if ("INACTIVE".equals(status) && (update.statusCode() == 400 || update.statusCode() == 409)
+                && message.toLowerCase().contains("already inactive")) {
+            return new UpdateResult(cardId, action, true, update.statusCode(), "card already inactive");
+        }
+        if ("DELETED".equals(status) && isCardNotFound(update)) {
+            return new UpdateResult(cardId, action, true, update.statusCode(), "card already deleted");
+        }
+        return new UpdateResult(cardId, action, false, update.statusCode(), "unexpected response: " + update.body());
+    }
+
+    private static boolean isCardNotFound(HttpResponse<String> response) {
+        return response.statusCode() == 404 && response.body() != null && response.body().contains("CARD_NOT_FOUND");
+    }
+
+    private static boolean is2xx(int status) {
+        return status >= 200 && status <= 299;
+    }
+
+    private static boolean sameSecond(String actual, String expected) {
+        try {
+            return Instant.parse(actual).truncatedTo(ChronoUnit.SECONDS)
+                    .equals(Instant.parse(expected).truncatedTo(ChronoUnit.SECONDS));
+        } catch (RuntimeException e) {
+            return actual.startsWith(expected.length() >= 19 ? expected.substring(0, 19) : expected);
+        }
+    }
+
+    private static String statusOf(String json) {
+        JsonElement status = JsonParser.parseString(json).getAsJsonObject().get("status");
+        return status != null && !status.isJsonNull() ? status.getAsString() : null;
+    }
+
+    private static String messageOf(String json) {
+        try {
+            JsonElement message = JsonParser.parseString(json).getAsJsonObject().get("message");
+            return message != null && !message.isJsonNull() ? message.getAsString() : "";
+        } catch (RuntimeException e) {
+            return "";
+        }
+    }
+
+    /** One card from the CSV and the flows that apply to it */
+    public record CardTask(String email, String cardId, List<Action> actions, String birthday) {
+        public CardTask {
+            actions = Collections.unmodifiableList(actions);
+        }
+    }
+
+    /** Outcome of one action against one card */
+    public record UpdateResult(String cardId, Action action, boolean ok, int httpStatus, String message) { }
+}
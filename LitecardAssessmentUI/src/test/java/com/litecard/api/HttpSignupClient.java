@@ -0,0 +1,203 @@
+package com.litecard.api;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.litecard.utils.IdentityGenerator.Identity;
+import com.litecard.utils.SignupResponseCapture;
+import config.TestConfig;
+
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Creates passes without a browser by sending the POST the signup form's script sends
+ * (firstName, lastName, email, birthday as JSON) straight to the form's signup endpoint.
+ *
+ * A signup counts as successful under the same condition that makes the form swap itself for the
+ * "Add to Wallet" buttons: a 2xx answer with a JSON body. The cardId in that body, if any, is
+ * returned as well. Requests share {@link BffApiClient}'s HTTP/2 connections, adaptive rate limit and
+ * retries, so bulk seeding runs at thousands of passes per minute on a few MB per request.
+ * {@link #forLoad()} sends each signup exactly once instead, so under load a 429 or 503 is a failed
+ * signup rather than a slower one, and a timed-out POST is never repeated.
+ *
+ * Usage Example:
+ *   HttpSignupClient client = HttpSignupClient.fromConfig();
+ *   SignupResult result = client.signup(identities.identity(0, 1));
+ */
+public class HttpSignupClient {
+
+    private final BffApiClient api;
+    private final String signupPath;
+    private final String consentField;
+
+    /** {@code consentField}: JSON field to send {@code true} in for the terms checkbox; null or blank to leave it out */
+    public HttpSignupClient(BffApiClient api, String signupPath, String consentField) {
+        this.api = api;
+        this.signupPath = signupPath;
+        this.consentField = consentField == null || consentField.isBlank() ? null : consentField;
+    }
+
+    /**
+     * Client for the form in {@code signup.form.url}: posts to api.base.url + {@code signup.api.path},
+     * with the form ID (the last segment of the form URL) filled into the path.
+     */
+    public static HttpSignupClient fromConfig() {
+        return fromConfig(BffApiClient.fromConfig(null));
+    }
+
+    /** Same endpoint as {@link #fromConfig()}, without the rate limiter and retries (for load generation) */
+    public static HttpSignupClient forLoad() {
+        return fromConfig(BffApiClient.direct(TestConfig.get().string("api.base.url"), null));
+    }
+
+    private static HttpSignupClient fromConfig(BffApiClient api) {
+        String path = String.format(TestConfig.get().nonBlank("signup.api.path", "/form/%s/signup"),
+                formId(TestConfig.get().string("signup.form.url")));
+        return new HttpSignupClient(api, path, TestConfig.get().string("signup.api.consent.field", ""));
+    }
+
+    /** "4URY0zwzf2TJDjHrwjgjB" for https://demo.litecard.io/form/custom/4URY0zwzf2TJDjHrwjgjB */
+    public static String formId(String formUrl) {
+        String path = URI.create(formUrl).getPath();
+        String trimmed = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        String id = trimmed.substring(trimmed.lastIndexOf('/') + 1);
+        if (id.isEmpty()) {
+            throw new IllegalArgumentException("No form ID in signup.form.url: " + formUrl);
+        }
+        return id;
+    }
+
+    public String signupPath() {
+        return signupPath;
+    }
+
+    /**
+     * Whether {@code email} falls in a {@code fraction} sample sent through the browser instead.
+     * A stable hash of the email, so a rerun samples the same passes.
+     */
+    public static boolean inUiSample(String email, double fraction) {
+        return sampleBucket(email) < fraction * 10_000;
+    }
+
+    /**
+     * The passes of {@code identities} to create through the browser: those {@link #inUiSample in the sample},
+     * or, when {@code fraction > 0} and none is, the one whose hash comes closest, so a small run still
+     * checks the form at least once.
+     */
+    public static Set<String> uiSample(List<Identity> identities, double fraction) {
+        Set<String> sample = new HashSet<>();
+        if (fraction <= 0) {
+            return sample;
+        }
+        identities.stream().map(Identity::email).filter(email -> inUiSample(email, fraction)).forEach(sample::add);
+        if (sample.isEmpty()) {
+            identities.stream().map(Identity::email)
+                    .min(Comparator.comparingInt(HttpSignupClient::sampleBucket))
+                    .ifPresent(sample::add);
+        }
+        return sample;
+    }
+
+    private static int sampleBucket(String email) {
+        return Math.floorMod(email.hashCode(), 10_000);
+    }
+
+    /** Submits one signup on the calling thread; never throws for a failed signup */
+    public SignupResult signup(Identity identity) {
+        long start = System.nanoTime();
+        JsonObject body = new JsonObject();
+        body.addProperty("firstName", identity.firstName());
+        body.addProperty("lastName", identity.lastName());
+        body.addProperty("email", identity.email());
+        body.addProperty("birthday", identity.birthday());
+        if (consentField != null) {
+            body.addProperty(consentField, true);
+        }
+
+        try {
+            HttpResponse<String> response = api.post(signupPath, body.toString());
+            return validate(identity.email(), response, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            return new SignupResult(identity.email(), 0, null, e.getMessage(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /** Submits every identity on virtual threads, at most {@code concurrency} at once; results in input order */
+    public List<SignupResult> signupAll(List<Identity> identities, int concurrency, Consumer<SignupResult> onResult) {
+        Semaphore permits = new Semaphore(Math.max(1, concurrency));
+        List<Future<SignupResult>> futures = new ArrayList<>(identities.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Identity identity : identities) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        SignupResult result = signup(identity);
+                        onResult.accept(result);
+                        return result;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<SignupResult> results = new ArrayList<>(futures.size());
+            for (Future<SignupResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("HTTP signups were interrupted", e);
+        } catch (Exception e) {
+            throw new RuntimeException("HTTP signups failed: " + e.getMessage(), e);
+        }
+    }
+
+    // The form shows the wallet buttons when response.ok and response.json() succeeds, and its error text otherwise
+    static SignupResult validate(String email, HttpResponse<String> response, long elapsedMillis) {
+        int status = response.statusCode();
+        JsonElement json;
+        try {
+            json = response.body() == null || response.body().isBlank() ? null : JsonParser.parseString(response.body());
+        } catch (JsonParseException e) {
+            json = null;
+        }
+        if (status < 200 || status >= 300) {
+            return new SignupResult(email, status, null, "HTTP " + status + ": " + messageOf(json, response.body()), elapsedMillis);
+        }
+        if (json == null) {
+            return new SignupResult(email, status, null, "HTTP " + status + " without a JSON body", elapsedMillis);
+        }
+        String cardId = SignupResponseCapture.cardIdFrom(response.body()).orElse(null);
+        return new SignupResult(email, status, cardId, null, elapsedMillis);
+    }
+
+    private static String messageOf(JsonElement json, String body) {
+        if (json != null && json.isJsonObject()) {
+            JsonObject object = json.getAsJsonObject();
+            if (object.has("message") && object.get("message").isJsonPrimitive()) {
+                return object.get("message").getAsString();
+            }
+        }
+        return body == null ? "" : body;
+    }
+
+    /** Outcome of one HTTP signup; {@code cardId} is null when the response did not carry one */
+    public record SignupResult(String email, int status, String cardId, String error, long elapsedMillis) {
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+}
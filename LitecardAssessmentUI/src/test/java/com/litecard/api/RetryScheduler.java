@@ -0,0 +1,204 @@
+package com.litecard.api;
+
+import com.litecard.metrics.Timer;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends HTTP requests through an {@link AdaptiveRateLimiter} and retries throttled or
+ * failed ones with jittered exponential backoff.
+ *
+ * Retried: 429 and 503 for every method (the server refused the request). I/O errors, 502 and 504
+ * only for idempotent methods, and 500 only for GET: a POST or PATCH that failed that way may already
+ * have been applied, and sending it again could create a second signup or repeat an update.
+ * A Retry-After header (seconds or HTTP date) is honoured as the minimum delay.
+ * Each request has an overall deadline: no retry is scheduled that would start after it,
+ * and each attempt's timeout is capped at the time left.
+ * A {@link Timer} passed to send/sendAsync times each attempt on its own, from when it leaves
+ * (after the rate-limit wait) to its response, so limiter waits and backoff never inflate it.
+ */
+public class RetryScheduler {
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+
+    private final AdaptiveRateLimiter limiter;
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration deadline;
+
+    public RetryScheduler(AdaptiveRateLimiter limiter, int maxAttempts, Duration baseDelay, Duration maxDelay,
+                          Duration deadline) {
+        this.limiter = limiter;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.deadline = deadline;
+    }
+
+    public AdaptiveRateLimiter limiter() {
+        return limiter;
+    }
+
+    /** Sends on the calling thread, sleeping between attempts */
+    public HttpResponse<String> send(HttpClient client, HttpRequest request) {
+        return send(client, request, null);
+    }
+
+    /** As {@link #send(HttpClient, HttpRequest)}, recording every attempt on {@code attempts} (null = untimed) */
+    public HttpResponse<String> send(HttpClient client, HttpRequest request, Timer attempts) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        for (int attempt = 1; ; attempt++) {
+            limiter.acquire();
+            long start = System.nanoTime();
+            HttpResponse<String> response = null;
+            IOException failure = null;
+            try {
+                response = client.send(withTimeLeft(request, deadlineNanos), HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                failure = e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(describe(request) + " was interrupted", e);
+            }
+            long end = System.nanoTime();
+            limiter.onResponse(response != null ? response.statusCode() : 0, end - start);
+            if (attempts != null) {
+                attempts.record(start, end, response != null && response.statusCode() < 500);
+            }
+
+            long delayNanos = retryDelayNanos(attempt, request, response, failure, deadlineNanos);
+            if (delayNanos < 0) {
+                if (failure != null) {
+                    throw new RuntimeException(describe(request) + " failed after " + attempt + " attempt(s): "
+                            + failure.getMessage(), failure);
+                }
+                return response;
+            }
+            System.out.println("[RetryScheduler] " + describe(request) + " -> "
+                    + (response != null ? "HTTP " + response.statusCode() : failure.getClass().getSimpleName())
+                    + ", retrying in " + TimeUnit.NANOSECONDS.toMillis(delayNanos) + " ms (attempt " + (attempt + 1) + ")");
+            LockSupport.parkNanos(delayNanos);
+        }
+    }
+
+    /** Sends without blocking; waits for rate-limit permits and backoff on the client's delayed executor */
+    public CompletableFuture<HttpResponse<String>> sendAsync(HttpClient client, HttpRequest request) {
+        return sendAsync(client, request, null);
+    }
+
+    /** As {@link #sendAsync(HttpClient, HttpRequest)}, recording every attempt on {@code attempts} (null = untimed) */
+    public CompletableFuture<HttpResponse<String>> sendAsync(HttpClient client, HttpRequest request, Timer attempts) {
+        return attemptAsync(client, request, attempts, 1, System.nanoTime() + deadline.toNanos());
+    }
+
+    private CompletableFuture<HttpResponse<String>> attemptAsync(HttpClient client, HttpRequest request, Timer attempts,
+                                                                 int attempt, long deadlineNanos) {
+        return CompletableFuture.runAsync(() -> { }, delayed(limiter.reserve()))
+                .thenCompose(ignored -> {
+                    long start = System.nanoTime();
+                    return client.sendAsync(withTimeLeft(request, deadlineNanos), HttpResponse.BodyHandlers.ofString())
+                            .handle((response, error) -> {
+                                long end = System.nanoTime();
+                                limiter.onResponse(response != null ? response.statusCode() : 0, end - start);
+                                if (attempts != null) {
+                                    attempts.record(start, end, error == null && response.statusCode() < 500);
+                                }
+                                IOException failure = ioFailure(error);
+                                if (error != null && failure == null) {
+                                    throw error instanceof CompletionException ? (CompletionException) error
+                                            : new CompletionException(error);
+                                }
+                                long delayNanos = retryDelayNanos(attempt, request, response, failure, deadlineNanos);
+                                if (delayNanos < 0) {
+                                    if (failure != null) throw new CompletionException(failure);
+                                    return CompletableFuture.completedFuture(response);
+                                }
+                                return CompletableFuture.runAsync(() -> { }, delayed(delayNanos))
+                                        .thenCompose(x -> attemptAsync(client, request, attempts, attempt + 1, deadlineNanos));
+                            })
+                            .thenCompose(next -> next);
+                });
+    }
+
+    /** Returns the backoff before the next attempt, or -1 if the request should not be retried */
+    private long retryDelayNanos(int attempt, HttpRequest request, HttpResponse<String> response,
+                                 IOException failure, long deadlineNanos) {
+        if (attempt >= maxAttempts || !isRetryable(request, response, failure)) {
+            return -1;
+        }
+
+        // Full jitter: uniform in [0, min(maxDelay, base * 2^(attempt-1))]
+        long cap = Math.min(maxDelay.toNanos(), baseDelay.toNanos() << Math.min(attempt - 1, 30));
+        long delay = ThreadLocalRandom.current().nextLong(cap + 1);
+        if (response != null) {
+            delay = Math.max(delay, retryAfterNanos(response));
+        }
+
+        return System.nanoTime() + delay >= deadlineNanos ? -1 : delay;
+    }
+
+    private static boolean isRetryable(HttpRequest request, HttpResponse<String> response, IOException failure) {
+        boolean idempotent = IDEMPOTENT_METHODS.contains(request.method());
+        if (failure != null) {
+            return idempotent;
+        }
+        int status = response.statusCode();
+        return status == 429 || status == 503
+                || (idempotent && (status == 502 || status == 504))
+                || (status == 500 && "GET".equals(request.method()));
+    }
+
+    private static long retryAfterNanos(HttpResponse<String> response) {
+        Optional<String> header = response.headers().firstValue("Retry-After");
+        if (header.isEmpty()) {
+            return 0;
+        }
+        String value = header.get().trim();
+        try {
+            return TimeUnit.SECONDS.toNanos(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, TimeUnit.MILLISECONDS.toNanos(at.toInstant().toEpochMilli() - System.currentTimeMillis()));
+            } catch (RuntimeException ignored) {
+                return 0;
+            }
+        }
+    }
+
+    private static HttpRequest withTimeLeft(HttpRequest request, long deadlineNanos) {
+        Duration left = Duration.ofNanos(Math.max(TimeUnit.MILLISECONDS.toNanos(1), deadlineNanos - System.nanoTime()));
+        Duration timeout = request.timeout().map(t -> t.compareTo(left) < 0 ? t : left).orElse(left);
+        return HttpRequest.newBuilder(request, (name, value) -> true).timeout(timeout).build();
+    }
+
+    private static IOException ioFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof IOException ? (IOException) cause : null;
+    }
+
+    private static Executor delayed(long nanos) {
+        return nanos <= 0
+                ? Runnable::run
+                : CompletableFuture.delayedExecutor(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String describe(HttpRequest request) {
+        return request.method() + " " + request.uri();
+    }
+}
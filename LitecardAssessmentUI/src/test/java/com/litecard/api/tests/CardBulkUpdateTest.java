@@ -0,0 +1,95 @@
+package com.litecard.api.tests;
+
+import com.litecard.api.BffApiClient;
+import com.litecard.api.CardBulkUpdater;
+import com.litecard.api.CardBulkUpdater.Action;
+import com.litecard.api.CardBulkUpdater.CardTask;
+import com.litecard.api.CardBulkUpdater.UpdateResult;
+import com.litecard.utils.PipelineJournal;
+import com.litecard.utils.PipelineJournal.Stage;
+import config.TestConfig;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the birthday / INACTIVE / DELETED card updates from the Postman collection
+ * against bff-api, driven by email_to_cardId.csv.
+ */
+public class CardBulkUpdateTest {
+
+    @Test
+    public void updateCardsFromCsv() throws Exception {
+        String token = TestConfig.get().nonBlank("api.token", null);
+        if (token == null || token.isBlank()) {
+            throw new SkipException("No api.token / AUTH_TOKEN configured for bff-api");
+        }
+
+        Path csv = Paths.get(TestConfig.get().string("api.input.csv", "target/email_to_cardId.csv"));
+        if (!Files.exists(csv)) {
+            throw new SkipException("Input CSV not found: " + csv.toAbsolutePath());
+        }
+
+        Set<String> birthdayIds = Arrays.stream(TestConfig.get().string("api.bday.ids", "").split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toSet());
+        List<CardTask> tasks = CardBulkUpdater.plan(csv, birthdayIds,
+                TestConfig.get().string("api.inactive.id", ""),
+                TestConfig.get().string("api.deleted.id", ""),
+                TestConfig.get().string("api.new.birthday", "1990-10-25T00:00:00.000Z"));
+
+        BffApiClient api = BffApiClient.fromConfig(token.trim());
+        int concurrency = TestConfig.get().apiConcurrency();
+
+        List<UpdateResult> results;
+        try (PipelineJournal journal = PipelineJournal.open(
+                Paths.get(TestConfig.get().string("pipeline.journal", "target/pipeline-journal.csv")))) {
+            // Actions an earlier run already applied are not sent again; a card only planned
+            // for other actions back then (e.g. BDAY, now INACTIVE) still gets the new ones
+            List<CardTask> pending = new ArrayList<>();
+            int skipped = 0;
+            for (CardTask task : tasks) {
+                List<Action> remaining = task.actions().stream()
+                        .filter(a -> !journal.reached(task.email(), Stage.UPDATED, a.name()))
+                        .collect(Collectors.toList());
+                skipped += task.actions().size() - remaining.size();
+                if (!remaining.isEmpty()) {
+                    pending.add(new CardTask(task.email(), task.cardId(), remaining, task.birthday()));
+                }
+            }
+            if (skipped > 0) {
+                System.out.println("Skipping " + skipped + " card update(s) already applied");
+            }
+
+            Map<String, String> emailByCardId = new HashMap<>();
+            for (CardTask task : pending) {
+                emailByCardId.put(task.cardId(), task.email());
+            }
+
+            // Each applied action is journaled as it completes, so an interrupted run doesn't resend it
+            long start = System.currentTimeMillis();
+            results = new CardBulkUpdater(api, concurrency).run(pending, result -> {
+                if (result.ok()) {
+                    journal.record(emailByCardId.get(result.cardId()), Stage.UPDATED, result.cardId(), result.action().name());
+                }
+            });
+            System.out.println("Processed " + results.size() + " card update(s) in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        }
+
+        List<UpdateResult> failed = results.stream().filter(r -> !r.ok()).collect(Collectors.toList());
+        Assert.assertTrue(failed.isEmpty(), "Card updates failed: " + failed);
+    }
+}
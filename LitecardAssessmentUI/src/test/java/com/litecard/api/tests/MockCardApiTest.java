@@ -0,0 +1,93 @@
+package com.litecard.api.tests;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.litecard.api.AdaptiveRateLimiter;
+import com.litecard.api.BffApiClient;
+import com.litecard.api.CardBulkUpdater;
+import com.litecard.api.CardBulkUpdater.CardTask;
+import com.litecard.api.CardBulkUpdater.UpdateResult;
+import com.litecard.api.RetryScheduler;
+import com.litecard.mock.FaultInjector;
+import com.litecard.mock.LitecardMockServer;
+import com.litecard.utils.CsvMappingWriter;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the bulk card update flows against the local mock bff-api with injected
+ * latency and 503s - no network or demo.litecard.io account needed.
+ */
+public class MockCardApiTest {
+
+    @Test
+    public void bulkUpdatesSurviveInjectedFaults() throws Exception {
+        FaultInjector faults = new FaultInjector(5, 10, 0.1, 503, 42);
+        try (LitecardMockServer mock = new LitecardMockServer(0, "mock-admin", "mock-password", faults, false, 10).start()) {
+            RetryScheduler scheduler = new RetryScheduler(
+                    new AdaptiveRateLimiter(200, 20, 1000, Duration.ofSeconds(1)),
+                    8, Duration.ofMillis(10), Duration.ofMillis(200), Duration.ofSeconds(30));
+            BffApiClient api = new BffApiClient(mock.apiBaseUrl(), mock.serviceToken(), Duration.ofSeconds(10), scheduler);
+
+            // 1.Create passes through the public signup endpoint and save email,cardId like AdminExtractTest does
+            Path csv = Paths.get("target/mock/email_to_cardId.csv");
+            List<String> cardIds = new ArrayList<>();
+            try (CsvMappingWriter writer = new CsvMappingWriter(csv, false)) {
+                for (int i = 1; i <= 20; i++) {
+                    String email = "qa.mock+" + i + "@example.com";
+                    JsonObject body = new JsonObject();
+                    body.addProperty("firstName", "QA" + i);
+                    body.addProperty("lastName", "Mock");
+                    body.addProperty("email", email);
+                    body.addProperty("birthday", "30/01/1998");
+                    HttpResponse<String> created = api.post("/form/" + LitecardMockServer.FORM_ID + "/signup", body.toString());
+                    Assert.assertEquals(created.statusCode(), 201, "Signup failed for " + email + ": " + created.body());
+                    String cardId = JsonParser.parseString(created.body()).getAsJsonObject().get("cardId").getAsString();
+                    writer.write(email, cardId);
+                    cardIds.add(cardId);
+                }
+            }
+
+            // 2.Birthday for the first five, INACTIVE for the sixth, DELETED for the seventh
+            Set<String> birthdayIds = Set.copyOf(cardIds.subList(0, 5));
+            List<CardTask> tasks = CardBulkUpdater.plan(csv, birthdayIds, cardIds.get(5), cardIds.get(6), "1990-10-25T00:00:00.000Z");
+            Assert.assertEquals(tasks.size(), 7, "Only targeted cards should be planned");
+
+            List<UpdateResult> results = new CardBulkUpdater(api, 8).run(tasks);
+            List<UpdateResult> failed = results.stream().filter(r -> !r.ok()).collect(Collectors.toList());
+            Assert.assertTrue(failed.isEmpty(), "Card updates failed: " + failed);
+
+            // 3.The mock store reflects every update
+            for (String id : birthdayIds) {
+                Assert.assertEquals(mock.cards().get(id).orElseThrow()
+                        .getAsJsonObject("cardOwnerCopy").get("birthday").getAsString(), "1990-10-25T00:00:00.000Z");
+            }
+            Assert.assertEquals(mock.cards().get(cardIds.get(5)).orElseThrow().get("status").getAsString(), "INACTIVE");
+            Assert.assertTrue(mock.cards().get(cardIds.get(6)).isEmpty(), "Deleted card should be gone");
+        }
+    }
+
+    @Test
+    public void blankIdsAreNotConfiguredAndUnresolvedRowsAreSkipped() throws Exception {
+        Path csv = Paths.get("target/mock/email_to_cardId_unresolved.csv");
+        Files.createDirectories(csv.getParent());
+        Files.writeString(csv, "email,cardId\nqa.mock+1@example.com,card-1\nqa.mock+2@example.com,\n");
+
+        Assert.assertTrue(CardBulkUpdater.plan(csv, Set.of(), "", "  ", "1990-10-25T00:00:00.000Z").isEmpty(),
+                "Blank INACTIVE/DELETED IDs must not match the row without a cardId");
+
+        List<CardTask> tasks = CardBulkUpdater.plan(csv, Set.of("card-1"), null, "card-1", "1990-10-25T00:00:00.000Z");
+        Assert.assertEquals(tasks.size(), 1);
+        Assert.assertEquals(tasks.get(0).actions(), List.of(CardBulkUpdater.Action.BDAY, CardBulkUpdater.Action.DELETED));
+    }
+}
@@ -0,0 +1,39 @@
+package com.litecard.bench;
+
+import com.litecard.utils.IdentityGenerator;
+import com.litecard.utils.IdentityGenerator.Identity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Cost of one {@link IdentityGenerator#identity} call with four threads generating at once (no shared state) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class IdentityGeneratorBenchmark {
+
+    private static final IdentityGenerator IDENTITIES = new IdentityGenerator("bench", 42, "Sulakkana");
+    private static final AtomicInteger WORKERS = new AtomicInteger();
+
+    private final int worker = WORKERS.getAndIncrement();
+    private long index;
+
+    @Benchmark
+    public Identity identity() {
+        return IDENTITIES.identity(worker, ++index);
+    }
+}
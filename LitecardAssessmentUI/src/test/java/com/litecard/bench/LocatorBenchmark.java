@@ -0,0 +1,78 @@
+package com.litecard.bench;
+
+import com.litecard.ui.pages.SignupPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding the three text inputs of the signup form: the XPath translate() locator SignupPage uses for
+ * first-time discovery against case-insensitive CSS attribute selectors and plain CSS by name (what the
+ * {@link com.litecard.ui.base.LocatorRegistry} compiles fields into for later page loads).
+ * Each call is one WebDriver round trip, so this measures driver + browser cost per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmark {
+
+    private static final String[][] HINTS = {{"first", "First Name"}, {"last", "Last Name"}, {"birth", "Birthday"}};
+
+    private MockBrowser browser;
+    private By[] xpath;
+    private By[] cssInsensitive;
+    private By[] cssByName;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        browser = new MockBrowser(10, 0);
+        browser.driver.get(browser.mock.formUrl());
+
+        xpath = new By[HINTS.length];
+        cssInsensitive = new By[HINTS.length];
+        cssByName = new By[HINTS.length];
+        for (int i = 0; i < HINTS.length; i++) {
+            String name = HINTS[i][0];
+            String placeholder = HINTS[i][1].toLowerCase();
+            xpath[i] = SignupPage.inputByNameOrPlaceholder(name, placeholder);
+            cssInsensitive[i] = By.cssSelector("input[name*='" + name + "' i], input[placeholder*='" + placeholder + "' i]");
+            cssByName[i] = By.cssSelector("input[name*='" + name + "']");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        browser.close();
+    }
+
+    @Benchmark
+    public void xpathTranslate(Blackhole bh) {
+        for (By by : xpath) bh.consume(browser.driver.findElement(by));
+    }
+
+    @Benchmark
+    public void cssCaseInsensitive(Blackhole bh) {
+        for (By by : cssInsensitive) bh.consume(browser.driver.findElement(by));
+    }
+
+    @Benchmark
+    public void cssByName(Blackhole bh) {
+        for (By by : cssByName) bh.consume(browser.driver.findElement(by));
+    }
+}
@@ -0,0 +1,38 @@
+package com.litecard.bench;
+
+import com.litecard.mock.FaultInjector;
+import com.litecard.mock.LitecardMockServer;
+import com.litecard.utils.DriverFactory;
+import com.litecard.utils.EmailGenerator;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Headless Chrome pointed at a fresh {@link LitecardMockServer} without injected faults,
+ * so browser benchmarks measure the client side only.
+ */
+final class MockBrowser implements AutoCloseable {
+
+    static final String USERNAME = "bench-admin";
+    static final String PASSWORD = "bench-password";
+
+    final LitecardMockServer mock;
+    final WebDriver driver;
+
+    MockBrowser(int pageSize, int cards) throws IOException {
+        mock = new LitecardMockServer(0, USERNAME, PASSWORD, FaultInjector.none(), false, pageSize).start();
+        for (int i = 1; i <= cards; i++) {
+            mock.cards().signup("QA" + i, "Bench", EmailGenerator.generate("Bench", i), "30/01/1998");
+        }
+        driver = DriverFactory.createChromeDriver(true);
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+    }
+
+    @Override
+    public void close() {
+        driver.quit();
+        mock.close();
+    }
+}
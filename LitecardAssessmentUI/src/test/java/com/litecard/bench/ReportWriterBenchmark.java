@@ -0,0 +1,73 @@
+package com.litecard.bench;
+
+import com.litecard.utils.CsvUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CsvUtils#writeMapping} and {@link CsvUtils#writeJsonReport} at 1k / 100k / 1M rows.
+ * Each invocation writes the whole report to a file under target/jmh-tmp.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportWriterBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private List<Pair<String, String>> mapping;
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapping = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            mapping.add(Pair.of("qa.sulakkana." + i + "@example.com", String.format("CARD%08d", i)));
+        }
+        dir = Files.createDirectories(Paths.get("target", "jmh-tmp"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dir.resolve("mapping.csv"));
+        Files.deleteIfExists(dir.resolve("mapping.json"));
+    }
+
+    @Benchmark
+    public long writeMappingCsv() throws IOException {
+        Path out = dir.resolve("mapping.csv");
+        CsvUtils.writeMapping(mapping, out);
+        return Files.size(out);
+    }
+
+    @Benchmark
+    public long writeJsonReport() throws IOException {
+        Path out = dir.resolve("mapping.json");
+        CsvUtils.writeJsonReport(mapping, out);
+        return Files.size(out);
+    }
+}
@@ -0,0 +1,84 @@
+package com.litecard.bench;
+
+import com.litecard.ui.pages.AdminLoginPage;
+import com.litecard.ui.pages.AdminPassesPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the email → cardId of one table page: the per-row / per-cell getText() loop of
+ * {@link AdminPassesPage#findCardIdByEmail} against the single JavaScript call of
+ * {@link AdminPassesPage#readCurrentPage}. The target is the last row, so both scan the whole page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowExtractionBenchmark {
+
+    private static final By ROWS = By.cssSelector("tr.ant-table-row.ant-table-row-level-0");
+    private static final By CELLS = By.cssSelector("td.ant-table-cell");
+
+    @Param({"10", "50"})
+    public int rowsPerPage;
+
+    private MockBrowser browser;
+    private AdminPassesPage passes;
+    private String targetEmail;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        browser = new MockBrowser(rowsPerPage, rowsPerPage * 2);
+        AdminLoginPage login = new AdminLoginPage(browser.driver);
+        login.open(browser.mock.baseUrl() + "/");
+        login.login(MockBrowser.USERNAME, MockBrowser.PASSWORD);
+        passes = new AdminPassesPage(browser.driver);
+        passes.openPasses();
+
+        List<String> emails = new ArrayList<>(passes.readCurrentPage().keySet());
+        if (emails.size() != rowsPerPage) {
+            throw new IllegalStateException("Expected " + rowsPerPage + " rows on the first page, found " + emails.size());
+        }
+        targetEmail = emails.get(emails.size() - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        browser.close();
+    }
+
+    @Benchmark
+    public String perCellGetText() {
+        for (WebElement row : browser.driver.findElements(ROWS)) {
+            List<WebElement> cells = row.findElements(CELLS);
+            if (cells.size() >= 4 && cells.get(3).getText().trim().equalsIgnoreCase(targetEmail)) {
+                return cells.get(0).getText().trim();
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String singleJsCall() {
+        return passes.readCurrentPage().get(targetEmail);
+    }
+}
@@ -0,0 +1,49 @@
+package com.litecard.listeners;
+
+import com.litecard.mock.LitecardMockServer;
+import config.TestConfig;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+
+/**
+ * Starts the local {@link LitecardMockServer} before the suite when {@code mock.enabled=true}
+ * (test.properties or -Dmock.enabled=true) and points base.url, signup.form.url and
+ * api.base.url at it, so the existing tests run unchanged against localhost.
+ */
+public class MockServerListener implements ISuiteListener {
+
+    private static LitecardMockServer server;
+
+    @Override
+    public synchronized void onStart(ISuite suite) {
+        boolean enabled = TestConfig.get().bool("mock.enabled", false);
+        if (!enabled || server != null) {
+            return;
+        }
+        try {
+            server = LitecardMockServer.fromConfig().start();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start the Litecard mock server", e);
+        }
+
+        TestConfig.override("base.url", server.baseUrl() + "/");
+        TestConfig.override("signup.form.url", server.formUrl());
+        TestConfig.override("api.base.url", server.apiBaseUrl());
+        if (TestConfig.get().string("api.token", "").isBlank()) {
+            TestConfig.override("api.token", server.serviceToken());
+        }
+        // A session cached against the real dashboard is useless here (and vice versa)
+        TestConfig.override("session.cache.file", "target/session/admin-session-mock.json");
+        System.out.println("[MockServerListener] Tests now target " + server.baseUrl());
+    }
+
+    @Override
+    public synchronized void onFinish(ISuite suite) {
+        if (server != null) {
+            server.close();
+            server = null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.litecard.listeners;
+
+import com.litecard.utils.Shard;
+import config.TestConfig;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+/**
+ * When the run is one shard of several ({@code shard.count} > 1), moves every per-run file
+ * (reports, journal, email list, metrics) into shard.dir/shard-N before any test starts, so shards
+ * sharing a workspace never write over each other and the merge step finds them in one place.
+ */
+public class ShardListener implements ISuiteListener {
+
+    private static final String[] SHARD_FILES = {"output.file", "output.json", "pipeline.journal", "emails.file"};
+
+    private static boolean applied;
+
+    @Override
+    public synchronized void onStart(ISuite suite) {
+        Shard shard = Shard.fromConfig();
+        if (!shard.isSharded() || applied) {
+            return;
+        }
+        for (String key : SHARD_FILES) {
+            String path = TestConfig.get().string(key, "");
+            if (!path.isBlank()) {
+                TestConfig.override(key, shard.outputPath(path).toString());
+            }
+        }
+        TestConfig.override("metrics.dir",
+                shard.outputPath(TestConfig.get().string("metrics.dir", "target/metrics")).toString());
+        try {
+            Files.createDirectories(shard.outputPath("x").getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create the shard output folder", e);
+        }
+        applied = true;
+        System.out.println("[ShardListener] Running shard " + shard.index() + " of " + shard.count()
+                + ", writing to " + shard.outputPath("x").getParent());
+    }
+}
@@ -1,33 +1,54 @@
 package com.litecard.listeners;
 
-import com.litecard.utils.ScreenshotUtils;
+import com.litecard.metrics.Metrics;
+import com.litecard.metrics.MetricsExporter;
+import com.litecard.metrics.Timer;
+import com.litecard.ui.tests.BaseTest;
+import com.litecard.utils.DriverFactory;
+import com.litecard.utils.ArtifactCaptureService;
+import config.TestConfig;
 import org.openqa.selenium.WebDriver;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
 
 public class TestListener implements ITestListener {
 
     @Override
     public void onTestFailure(ITestResult result) {
-        Object testClass = result.getInstance();
-        WebDriver driver = null;
-
-        try {
-            driver = (WebDriver) testClass.getClass().getDeclaredField("driver").get(testClass);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
+        // Called on the test's own thread, so this is the failing invocation's browser
+        WebDriver driver = result.getInstance() instanceof BaseTest test ? test.currentDriver() : null;
         if (driver != null) {
+            // Grabs from the browser here; files are written in the background and awaited in BaseTest.tearDown
             String testName = result.getTestClass().getName() + "_" + result.getMethod().getMethodName();
-            ScreenshotUtils.captureScreenshot(driver, testName);
+            ArtifactCaptureService.get().capture(artifactKey(result), driver, testName);
         }
     }
 
+    /** Groups the artifacts of one test invocation */
+    public static String artifactKey(ITestResult result) {
+        return result.getTestClass().getName() + "#" + result.getMethod().getMethodName()
+                + "@" + System.identityHashCode(result);
+    }
+
+    /** How long teardown and the end of a test wait for artifact files ({@code artifacts.await.seconds}) */
+    public static Duration artifactTimeout() {
+        return TestConfig.get().artifactsAwait();
+    }
+
+    /** Only skips caused by a failed setup are worth artifacts; a deliberate SkipException is not */
     @Override
     public void onTestSkipped(ITestResult result) {
-        onTestFailure(result);
+        Throwable cause = result.getThrowable();
+        if (cause != null && !(cause instanceof SkipException)) {
+            onTestFailure(result);
+        }
     }
 
     @Override
@@ -38,5 +59,18 @@ public class TestListener implements ITestListener {
     @Override
     public void onFinish(ITestContext context) {
         System.out.println("===Test Suite Completed: " + context.getName() + " ===");
+        ArtifactCaptureService.get().awaitAll(artifactTimeout());
+        // Timers are JVM-wide, so each export holds everything recorded so far in the run.
+        // Exports go to one folder per browser profile, so a run under the other profile gives an A/B table.
+        System.out.println(MetricsExporter.summary().stripTrailing());
+        Path metricsDir = Paths.get(TestConfig.get().string("metrics.dir", "target/metrics"));
+        DriverFactory.Profile profile = DriverFactory.Profile.fromConfig();
+        MetricsExporter.export(metricsDir.resolve(profile.label()));
+        for (DriverFactory.Profile other : DriverFactory.Profile.values()) {
+            List<Timer.Snapshot> baseline = MetricsExporter.load(metricsDir.resolve(other.label()).resolve("metrics.json"));
+            if (other != profile && !baseline.isEmpty()) {
+                System.out.println(MetricsExporter.compare(other.label(), baseline, profile.label(), Metrics.snapshot()).stripTrailing());
+            }
+        }
     }
 }
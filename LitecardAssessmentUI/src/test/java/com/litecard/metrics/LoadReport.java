@@ -0,0 +1,199 @@
+package com.litecard.metrics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Result of one load/soak run: submit -> wallet latency (corrected for coordinated omission and raw),
+ * intended start -> wallet, counts, and the verdict against a latency / error-rate SLO.
+ * The open model is judged on intended start -> wallet, since a user arriving on schedule also waits
+ * while the arrival sits in the backlog; the closed model on corrected submit -> wallet.
+ * Histogram values are microseconds; everything reported is milliseconds.
+ */
+public final class LoadReport {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final String description;
+    private final boolean openModel;
+    private final Duration duration;
+    private final Duration elapsed;
+    private final long succeeded;
+    private final long failed;
+    private final long dropped;
+    private final Histogram corrected;
+    private final Histogram raw;
+    private final Histogram endToEnd;
+
+    public LoadReport(String description, boolean openModel, Duration duration, Duration elapsed, long succeeded,
+                      long failed, long dropped, Histogram corrected, Histogram raw, Histogram endToEnd) {
+        this.description = description;
+        this.openModel = openModel;
+        this.duration = duration;
+        this.elapsed = elapsed;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.dropped = dropped;
+        this.corrected = corrected;
+        this.raw = raw;
+        this.endToEnd = endToEnd;
+    }
+
+    /** Latency and failure-rate objective; failures include dropped arrivals */
+    public record Slo(Duration p95, Duration p99, double errorRate) { }
+
+    public long succeeded() {
+        return succeeded;
+    }
+
+    public long failed() {
+        return failed;
+    }
+
+    public long dropped() {
+        return dropped;
+    }
+
+    /** Failed plus dropped signups over all of them */
+    public double errorRate() {
+        long total = succeeded + failed + dropped;
+        return total == 0 ? 0 : (double) (failed + dropped) / total;
+    }
+
+    /** Percentile in ms of the latency the SLO is judged on ({@link #sloLatency()}) */
+    public double percentileMillis(double percentile) {
+        return (openModel ? endToEnd : corrected).getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /** Which latency view the SLO is judged on */
+    public String sloLatency() {
+        return openModel ? "intended start->wallet" : "submit->wallet (corrected)";
+    }
+
+    /** Every way the run missed {@code slo}; empty when it met it */
+    public List<String> breaches(Slo slo) {
+        List<String> breaches = new ArrayList<>();
+        if (succeeded == 0) {
+            breaches.add("no signup completed");
+        }
+        if (percentileMillis(95) > slo.p95().toMillis()) {
+            breaches.add(String.format(Locale.ROOT, "p95 %.0f ms > %d ms", percentileMillis(95), slo.p95().toMillis()));
+        }
+        if (percentileMillis(99) > slo.p99().toMillis()) {
+            breaches.add(String.format(Locale.ROOT, "p99 %.0f ms > %d ms", percentileMillis(99), slo.p99().toMillis()));
+        }
+        if (errorRate() > slo.errorRate()) {
+            breaches.add(String.format(Locale.ROOT, "error rate %.2f%% > %.2f%%", errorRate() * 100, slo.errorRate() * 100));
+        }
+        return breaches;
+    }
+
+    /** Console table of the three latency views plus counts, throughput and the SLO verdict */
+    public String summary(Slo slo) {
+        StringBuilder out = new StringBuilder();
+        out.append("[Load] ").append(description).append(", ").append(duration.toSeconds()).append("s held, ")
+                .append(elapsed.toSeconds()).append("s elapsed\n");
+        String row = "%-26s %9s %9s %9s %9s %9s %9s%n";
+        out.append(String.format(Locale.ROOT, row, "latency (ms)", "p50", "p90", "p95", "p99", "p99.9", "max"));
+        appendRow(out, row, "submit->wallet (corrected)", corrected);
+        appendRow(out, row, "submit->wallet (raw)", raw);
+        appendRow(out, row, "intended start->wallet", endToEnd);
+        out.append(String.format(Locale.ROOT, "succeeded %d, failed %d, dropped %d, error rate %.2f%%, %.2f signups/s%n",
+                succeeded, failed, dropped, errorRate() * 100, throughputPerSecond()));
+        List<String> breaches = breaches(slo);
+        out.append(String.format(Locale.ROOT, "SLO on %s p95 <= %d ms, p99 <= %d ms, errors <= %.2f%%: %s",
+                sloLatency(), slo.p95().toMillis(), slo.p99().toMillis(), slo.errorRate() * 100,
+                breaches.isEmpty() ? "MET" : "BREACHED (" + String.join("; ", breaches) + ")"));
+        return out.toString();
+    }
+
+    /**
+     * Writes load-report.json and one HdrHistogram percentile distribution per latency view
+     * (*.hgrm, plottable with HdrHistogram's plotter) into {@code dir}.
+     */
+    public void write(Path dir, Slo slo) {
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("load-report.json"), GSON.toJson(toJson(slo)), StandardCharsets.UTF_8);
+            writeDistribution(dir.resolve("submit-to-wallet-corrected.hgrm"), corrected);
+            writeDistribution(dir.resolve("submit-to-wallet-raw.hgrm"), raw);
+            writeDistribution(dir.resolve("intended-to-wallet.hgrm"), endToEnd);
+            System.out.println("[Load] Report written to " + dir.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("[Load] Failed to write the load report to " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private Map<String, Object> toJson(Slo slo) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("description", description);
+        json.put("durationSeconds", duration.toSeconds());
+        json.put("elapsedSeconds", elapsed.toMillis() / 1000.0);
+        json.put("succeeded", succeeded);
+        json.put("failed", failed);
+        json.put("dropped", dropped);
+        json.put("errorRate", errorRate());
+        json.put("throughputPerSecond", throughputPerSecond());
+        json.put("submitToWalletCorrectedMillis", percentiles(corrected));
+        json.put("submitToWalletRawMillis", percentiles(raw));
+        json.put("intendedToWalletMillis", percentiles(endToEnd));
+        Map<String, Object> target = new LinkedHashMap<>();
+        target.put("latency", sloLatency());
+        target.put("p95Millis", slo.p95().toMillis());
+        target.put("p99Millis", slo.p99().toMillis());
+        target.put("errorRate", slo.errorRate());
+        target.put("breaches", breaches(slo));
+        target.put("met", breaches(slo).isEmpty());
+        json.put("slo", target);
+        return json;
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            values.put("p" + format(percentile), histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        values.put("max", histogram.getMaxValue() / 1000.0);
+        values.put("mean", histogram.getMean() / 1000.0);
+        return values;
+    }
+
+    private static void appendRow(StringBuilder out, String row, String name, Histogram histogram) {
+        Object[] cells = new Object[PERCENTILES.length + 2];
+        cells[0] = name;
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            cells[i + 1] = String.format(Locale.ROOT, "%.0f", histogram.getValueAtPercentile(PERCENTILES[i]) / 1000.0);
+        }
+        cells[cells.length - 1] = String.format(Locale.ROOT, "%.0f", histogram.getMaxValue() / 1000.0);
+        out.append(String.format(Locale.ROOT, row, cells));
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            // Output in ms (values are microseconds)
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private double throughputPerSecond() {
+        return elapsed.isZero() ? 0 : succeeded / (elapsed.toNanos() / 1e9);
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,40 @@
+package com.litecard.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM-wide registry of step {@link Timer}s, shared by page objects, API clients and listeners.
+ * Step names are dotted, e.g. "signup.fill", "login.auth0", "http.GET /card/{id}".
+ */
+public final class Metrics {
+
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    /** Returns the timer for {@code name}, creating it on first use */
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, Timer::new);
+    }
+
+    /** Snapshots of every timer that has recorded something, sorted by name */
+    public static List<Timer.Snapshot> snapshot() {
+        List<Timer.Snapshot> snapshots = new ArrayList<>();
+        for (Timer timer : TIMERS.values()) {
+            Timer.Snapshot s = timer.snapshot();
+            if (s.count() > 0) snapshots.add(s);
+        }
+        snapshots.sort(Comparator.comparing(Timer.Snapshot::name));
+        return snapshots;
+    }
+
+    /** Clears all recorded values (timers stay registered) */
+    public static void reset() {
+        TIMERS.values().forEach(Timer::reset);
+    }
+}
@@ -0,0 +1,154 @@
+package com.litecard.metrics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes {@link Metrics} snapshots as metrics.json and as Prometheus text exposition
+ * (metrics.prom, a summary per step), and prints a console summary table.
+ */
+public final class MetricsExporter {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private MetricsExporter() {
+    }
+
+    /** Writes both files into {@code dir}; each is replaced atomically so readers never see a partial file */
+    public static void export(Path dir) {
+        List<Timer.Snapshot> snapshots = Metrics.snapshot();
+        try {
+            Files.createDirectories(dir);
+            write(dir.resolve("metrics.json"), GSON.toJson(snapshots));
+            write(dir.resolve("metrics.prom"), prometheus(snapshots));
+            System.out.println("[Metrics] Exported " + snapshots.size() + " step(s) to " + dir.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("[Metrics] Failed to export metrics to " + dir + ": " + e.getMessage());
+        }
+    }
+
+    /** Prometheus text format: litecard_step_seconds{step=...,quantile=...} plus _count, _sum and errors */
+    public static String prometheus(List<Timer.Snapshot> snapshots) {
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP litecard_step_seconds Latency of UI and API steps.\n");
+        out.append("# TYPE litecard_step_seconds summary\n");
+        for (Timer.Snapshot s : snapshots) {
+            String step = "step=\"" + escape(s.name()) + "\"";
+            quantile(out, step, "0.5", s.p50Millis());
+            quantile(out, step, "0.95", s.p95Millis());
+            quantile(out, step, "0.99", s.p99Millis());
+            out.append("litecard_step_seconds_count{").append(step).append("} ").append(s.count()).append('\n');
+            out.append("litecard_step_seconds_sum{").append(step).append("} ").append(number(s.sumSeconds())).append('\n');
+        }
+        out.append("# HELP litecard_step_errors_total Steps that ended with an exception or a 5xx response.\n");
+        out.append("# TYPE litecard_step_errors_total counter\n");
+        for (Timer.Snapshot s : snapshots) {
+            out.append("litecard_step_errors_total{step=\"").append(escape(s.name())).append("\"} ").append(s.errors()).append('\n');
+        }
+        out.append("# HELP litecard_step_throughput_per_second Completions per second while the step was active.\n");
+        out.append("# TYPE litecard_step_throughput_per_second gauge\n");
+        for (Timer.Snapshot s : snapshots) {
+            out.append("litecard_step_throughput_per_second{step=\"").append(escape(s.name())).append("\"} ")
+                    .append(number(s.throughputPerSecond())).append('\n');
+        }
+        return out.toString();
+    }
+
+    /** Console table of every step: count, errors, p50/p95/p99/max in ms and throughput */
+    public static String summary() {
+        List<Timer.Snapshot> snapshots = Metrics.snapshot();
+        if (snapshots.isEmpty()) {
+            return "[Metrics] No steps recorded.";
+        }
+        int width = Math.max(4, snapshots.stream().mapToInt(s -> s.name().length()).max().orElse(4));
+        String row = "%-" + width + "s %7s %6s %10s %10s %10s %10s %9s%n";
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, row, "step", "count", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "ops/s"));
+        for (Timer.Snapshot s : snapshots) {
+            out.append(String.format(Locale.ROOT, row, s.name(), s.count(), s.errors(),
+                    fixed(s.p50Millis()), fixed(s.p95Millis()), fixed(s.p99Millis()), fixed(s.maxMillis()),
+                    fixed(s.throughputPerSecond())));
+        }
+        return out.toString();
+    }
+
+    /** Reads a metrics.json written by {@link #export}; empty when there is none yet */
+    public static List<Timer.Snapshot> load(Path file) {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Timer.Snapshot[] snapshots = GSON.fromJson(reader, Timer.Snapshot[].class);
+            return snapshots == null ? List.of() : Arrays.asList(snapshots);
+        } catch (IOException | JsonParseException e) {
+            System.err.println("[Metrics] Could not read " + file + ": " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /** A/B table of p50/p95 per step present in both runs; negative deltas mean the candidate is faster */
+    public static String compare(String baselineName, List<Timer.Snapshot> baseline,
+                                 String candidateName, List<Timer.Snapshot> candidate) {
+        Map<String, Timer.Snapshot> before = new HashMap<>();
+        baseline.forEach(s -> before.put(s.name(), s));
+        List<Timer.Snapshot> common = candidate.stream().filter(s -> before.containsKey(s.name())).toList();
+        if (common.isEmpty()) {
+            return "[Metrics] No steps in common between " + baselineName + " and " + candidateName + ".";
+        }
+        int width = Math.max(4, common.stream().mapToInt(s -> s.name().length()).max().orElse(4));
+        String row = "%-" + width + "s %12s %12s %8s %12s %12s %8s%n";
+        StringBuilder out = new StringBuilder("[Metrics] " + candidateName + " vs " + baselineName + "\n");
+        out.append(String.format(Locale.ROOT, row, "step", "p50 " + baselineName, "p50 " + candidateName, "delta",
+                "p95 " + baselineName, "p95 " + candidateName, "delta"));
+        for (Timer.Snapshot s : common) {
+            Timer.Snapshot b = before.get(s.name());
+            out.append(String.format(Locale.ROOT, row, s.name(),
+                    fixed(b.p50Millis()), fixed(s.p50Millis()), delta(b.p50Millis(), s.p50Millis()),
+                    fixed(b.p95Millis()), fixed(s.p95Millis()), delta(b.p95Millis(), s.p95Millis())));
+        }
+        return out.toString();
+    }
+
+    private static String delta(double before, double after) {
+        return before <= 0 ? "n/a" : String.format(Locale.ROOT, "%+.0f%%", (after - before) * 100 / before);
+    }
+
+    private static void quantile(StringBuilder out, String step, String quantile, double millis) {
+        out.append("litecard_step_seconds{").append(step).append(",quantile=\"").append(quantile).append("\"} ")
+                .append(number(millis / 1_000.0)).append('\n');
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            writer.write(content);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String number(double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+
+    private static String fixed(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+}
@@ -0,0 +1,105 @@
+package com.litecard.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram for one named step (microsecond resolution, 3 significant digits,
+ * up to one hour). Safe to record from any number of threads.
+ *
+ * Usage Example:
+ *   Metrics.timer("signup.fill").run(() -> fill(...));
+ *   String id = Metrics.timer("passes.search").time(() -> search(email));
+ */
+public final class Timer {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong firstStartNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastEndNanos = new AtomicLong(Long.MIN_VALUE);
+
+    Timer(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** Times {@code call}; a thrown exception is counted as an error and rethrown */
+    public <T, E extends Exception> T time(TimedCall<T, E> call) throws E {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            T result = call.call();
+            ok = true;
+            return result;
+        } finally {
+            record(start, System.nanoTime(), ok);
+        }
+    }
+
+    /** Same as {@link #time} for steps without a result */
+    public <E extends Exception> void run(TimedRun<E> body) throws E {
+        time(() -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /** Records one observation measured elsewhere (e.g. in an async callback) */
+    public void record(long startNanos, long endNanos, boolean ok) {
+        histogram.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, (endNanos - startNanos) / 1_000)));
+        if (!ok) errors.increment();
+        firstStartNanos.accumulateAndGet(startNanos, Math::min);
+        lastEndNanos.accumulateAndGet(endNanos, Math::max);
+    }
+
+    /** Point-in-time copy of this timer's statistics */
+    public Snapshot snapshot() {
+        Histogram copy = histogram.copy();
+        long count = copy.getTotalCount();
+        long window = lastEndNanos.get() - firstStartNanos.get();
+        double throughput = count > 0 && window > 0 ? count * 1e9 / window : 0;
+        return new Snapshot(name, count, errors.sum(),
+                copy.getMean() / 1_000.0,
+                copy.getValueAtPercentile(50) / 1_000.0,
+                copy.getValueAtPercentile(95) / 1_000.0,
+                copy.getValueAtPercentile(99) / 1_000.0,
+                copy.getMaxValue() / 1_000.0,
+                count > 0 ? copy.getMean() * count / 1_000_000.0 : 0,
+                throughput);
+    }
+
+    void reset() {
+        histogram.reset();
+        errors.reset();
+        firstStartNanos.set(Long.MAX_VALUE);
+        lastEndNanos.set(Long.MIN_VALUE);
+    }
+
+    @FunctionalInterface
+    public interface TimedCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    @FunctionalInterface
+    public interface TimedRun<E extends Exception> {
+        void run() throws E;
+    }
+
+    /**
+     * Latencies in milliseconds; {@code sumSeconds} is the total time spent in the step and
+     * {@code throughputPerSecond} the completions per second between its first start and last end.
+     */
+    public record Snapshot(String name, long count, long errors, double meanMillis, double p50Millis,
+                           double p95Millis, double p99Millis, double maxMillis, double sumSeconds,
+                           double throughputPerSecond) { }
+}
@@ -0,0 +1,56 @@
+package com.litecard.mock;
+
+import java.util.SplittableRandom;
+
+/**
+ * Adds latency and failures to mock responses so throughput numbers can be
+ * measured under controlled conditions.
+ *
+ * Every request waits {@code latencyMillis} plus a uniform random
+ * 0..{@code jitterMillis}, and fails with {@code errorStatus} with probability
+ * {@code errorRate}. A fixed seed gives the same fault sequence on every run.
+ */
+public class FaultInjector {
+
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final int errorStatus;
+    private final SplittableRandom random;
+
+    public FaultInjector(long latencyMillis, long jitterMillis, double errorRate, int errorStatus, long seed) {
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("errorRate must be between 0 and 1: " + errorRate);
+        }
+        this.latencyMillis = Math.max(0, latencyMillis);
+        this.jitterMillis = Math.max(0, jitterMillis);
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /** No latency, no errors */
+    public static FaultInjector none() {
+        return new FaultInjector(0, 0, 0, 503, 0);
+    }
+
+    /** Sleeps for the configured latency; returns the status to fail with, or 0 to serve normally */
+    public int apply() throws InterruptedException {
+        long jitter;
+        boolean fail;
+        synchronized (random) {
+            jitter = jitterMillis > 0 ? random.nextLong(jitterMillis + 1) : 0;
+            fail = errorRate > 0 && random.nextDouble() < errorRate;
+        }
+        long delay = latencyMillis + jitter;
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+        return fail ? errorStatus : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "latency=" + latencyMillis + "ms+0.." + jitterMillis + "ms, errors=" + errorRate + " (HTTP " + errorStatus + ")";
+    }
+}
@@ -0,0 +1,393 @@
+package com.litecard.mock;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.litecard.mock.MockCardStore.StatusChange;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import config.TestConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for demo.litecard.io and its bff-api, for reproducible throughput
+ * numbers without the network.
+ *
+ * Serves, on one loopback port:
+ *   /form/custom/{formId}        ant-design style signup form; wallet images appear after submit
+ *   /                            "Log In" landing page, or the dashboard once logged in
+ *   /auth0.com/u/login           Auth0-like login (the path keeps AdminLoginPage's urlContains("auth0.com") check)
+ *   /cards                       "View Passes" table with search and pagination
+ *   /api/v1/card                 GET (search, paged) and PATCH, plus GET /card/{id} and POST /card/status
+ *   /api/v1/form/{formId}/signup POST used by the signup form
+ *
+ * Every /api/v1 call (and every page, if {@code faultPages} is set) goes through a
+ * {@link FaultInjector}. Requests are handled on virtual threads, so injected latency
+ * doesn't limit concurrency.
+ *
+ * Usage Example:
+ *   try (LitecardMockServer mock = LitecardMockServer.fromConfig().start()) {
+ *       driver.get(mock.formUrl());
+ *   }
+ */
+public class LitecardMockServer implements AutoCloseable {
+
+    public static final String FORM_ID = "mock-form";
+
+    private static final String SESSION_COOKIE = "mock_session";
+    private static final long TOKEN_TTL_SECONDS = 24 * 60 * 60;
+
+    private final int requestedPort;
+    private final String username;
+    private final String password;
+    private final FaultInjector faults;
+    private final boolean faultPages;
+    private final int pageSize;
+    private final MockCardStore cards = new MockCardStore();
+    private final Set<String> tokens = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private String serviceToken;
+
+    public LitecardMockServer(int port, String username, String password, FaultInjector faults,
+                              boolean faultPages, int pageSize) {
+        this.requestedPort = port;
+        this.username = username;
+        this.password = password;
+        this.faults = faults;
+        this.faultPages = faultPages;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /** Server configured from the mock.* properties, accepting the configured admin credentials */
+    public static LitecardMockServer fromConfig() {
+        FaultInjector faults = new FaultInjector(
+                TestConfig.get().number("mock.latency.ms", 0),
+                TestConfig.get().number("mock.latency.jitter.ms", 0),
+                TestConfig.get().decimal("mock.error.rate", 0),
+                TestConfig.get().integer("mock.error.status", 503),
+                TestConfig.get().number("mock.seed", 42));
+        return new LitecardMockServer(
+                TestConfig.get().integer("mock.port", 0),
+                TestConfig.get().string("admin.username"),
+                TestConfig.get().string("admin.password"),
+                faults,
+                TestConfig.get().bool("mock.fault.pages", false),
+                TestConfig.get().integer("mock.page.size", 10));
+    }
+
+    public LitecardMockServer start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), requestedPort), 1024);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        serviceToken = issueToken(username);
+        System.out.println("[LitecardMockServer] Listening on " + baseUrl() + " (" + faults + ")");
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public String formUrl() {
+        return baseUrl() + "/form/custom/" + FORM_ID;
+    }
+
+    public String apiBaseUrl() {
+        return baseUrl() + "/api/v1";
+    }
+
+    /** Bearer token accepted by the mock bff-api, for API-only tests that never log in */
+    public String serviceToken() {
+        return serviceToken;
+    }
+
+    public MockCardStore cards() {
+        return cards;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            System.out.println("[LitecardMockServer] Stopped (" + cards.size() + " cards in store).");
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            boolean api = path.startsWith("/api/v1/");
+            if (api || (faultPages && !path.startsWith("/static/"))) {
+                int injected = faults.apply();
+                if (injected > 0) {
+                    if (injected == 429) exchange.getResponseHeaders().set("Retry-After", "1");
+                    sendJson(exchange, injected, error("INJECTED_FAULT", "Injected failure"));
+                    return;
+                }
+            }
+            if (api) {
+                handleApi(exchange, path.substring("/api/v1".length()));
+            } else {
+                handlePage(exchange, path);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IllegalArgumentException e) {
+            sendJson(exchange, 400, error("BAD_REQUEST", e.getMessage()));
+        } catch (RuntimeException e) {
+            System.err.println("[LitecardMockServer] " + exchange.getRequestMethod() + " "
+                    + exchange.getRequestURI() + " failed: " + e.getMessage());
+            sendJson(exchange, 500, error("INTERNAL", e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // ---------- Pages ----------
+
+    private void handlePage(HttpExchange exchange, String path) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (path.startsWith("/static/")) {
+            String name = path.substring("/static/".length());
+            String type = name.endsWith(".svg") ? "image/svg+xml" : name.endsWith(".css") ? "text/css" : null;
+            if (type == null || name.contains("/")) {
+                send(exchange, 404, "text/plain", "Not found");
+            } else {
+                send(exchange, 200, type, template(name));
+            }
+        } else if (path.startsWith("/form/custom/")) {
+            send(exchange, 200, "text/html", template("signup.html")
+                    .replace("{{FORM_ID}}", path.substring("/form/custom/".length())));
+        } else if (path.equals("/auth0.com/u/login") && method.equals("POST")) {
+            Map<String, String> form = parseQuery(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            if (username.equals(form.get("username")) && password.equals(form.get("password"))) {
+                String token = issueToken(username);
+                exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + token + "; Path=/; SameSite=Lax");
+                redirect(exchange, "/");
+            } else {
+                send(exchange, 200, "text/html", template("login.html").replace("{{MESSAGE}}",
+                        "<div class=\"ant-form-item-explain-error\">Wrong email or password.</div>"));
+            }
+        } else if (path.equals("/auth0.com/u/login")) {
+            send(exchange, 200, "text/html", template("login.html").replace("{{MESSAGE}}", ""));
+        } else if (path.equals("/") || path.equals("/cards")) {
+            Optional<String> token = sessionToken(exchange);
+            if (token.isEmpty()) {
+                if (path.equals("/")) {
+                    send(exchange, 200, "text/html", template("landing.html"));
+                } else {
+                    redirect(exchange, "/");
+                }
+                return;
+            }
+            boolean passes = path.equals("/cards");
+            String content = passes
+                    ? template("passes.html").replace("{{PAGE_SIZE}}", String.valueOf(pageSize))
+                    : "<h1>Dashboard</h1><p>" + cards.size() + " passes issued.</p>";
+            send(exchange, 200, "text/html", template("dashboard.html")
+                    .replace("{{TITLE}}", passes ? "View Passes" : "Dashboard")
+                    .replace("{{API_BASE}}", apiBaseUrl())
+                    .replace("{{TOKEN}}", token.get())
+                    .replace("{{EXPIRES_AT}}", String.valueOf(System.currentTimeMillis() / 1000 + TOKEN_TTL_SECONDS))
+                    .replace("{{CONTENT}}", content));
+        } else {
+            send(exchange, 404, "text/plain", "Not found");
+        }
+    }
+
+    // ---------- bff-api ----------
+
+    private void handleApi(HttpExchange exchange, String path) throws IOException {
+        String method = exchange.getRequestMethod();
+
+        // The public signup form needs no token
+        if (method.equals("POST") && path.startsWith("/form/") && path.endsWith("/signup")) {
+            JsonObject body = readJson(exchange);
+            String email = string(body, "email");
+            if (email == null || !email.contains("@")) {
+                sendJson(exchange, 400, error("INVALID_EMAIL", "A valid email is required"));
+                return;
+            }
+            String cardId = cards.signup(string(body, "firstName"), string(body, "lastName"), email, string(body, "birthday"));
+            JsonObject created = new JsonObject();
+            created.addProperty("cardId", cardId);
+            created.addProperty("email", email);
+            sendJson(exchange, 201, created);
+            return;
+        }
+
+        if (!authorized(exchange)) {
+            sendJson(exchange, 401, error("UNAUTHORIZED", "Missing or invalid bearer token"));
+            return;
+        }
+
+        if (path.equals("/card") && method.equals("GET")) {
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            sendJson(exchange, 200, cards.search(query.getOrDefault("search", ""),
+                    intParam(query, "page", 1), intParam(query, "pageSize", pageSize)));
+        } else if (path.equals("/card") && method.equals("PATCH")) {
+            JsonObject body = readJson(exchange);
+            String cardId = string(body, "cardId");
+            JsonObject payload = body.has("cardPayload") && body.get("cardPayload").isJsonObject()
+                    ? body.getAsJsonObject("cardPayload") : new JsonObject();
+            Optional<JsonObject> updated = cardId == null ? Optional.empty() : cards.update(cardId, payload);
+            if (updated.isPresent()) {
+                sendJson(exchange, 200, updated.get());
+            } else {
+                sendJson(exchange, 404, error("CARD_NOT_FOUND", "Card not found: " + cardId));
+            }
+        } else if (path.equals("/card/status") && method.equals("POST")) {
+            JsonObject body = readJson(exchange);
+            String cardId = string(body, "cardId");
+            String status = string(body, "status");
+            StatusChange change = cardId == null || status == null ? StatusChange.NOT_FOUND : cards.setStatus(cardId, status);
+            switch (change) {
+                case CHANGED -> sendJson(exchange, 200, message("Card status updated to " + status));
+                case UNCHANGED -> sendJson(exchange, 400, error("INVALID_STATUS", "Card is already " + status.toLowerCase()));
+                default -> sendJson(exchange, 404, error("CARD_NOT_FOUND", "Card not found: " + cardId));
+            }
+        } else if (path.startsWith("/card/") && method.equals("GET")) {
+            String cardId = path.substring("/card/".length());
+            Optional<JsonObject> card = cards.get(cardId);
+            if (card.isPresent()) {
+                sendJson(exchange, 200, card.get());
+            } else {
+                sendJson(exchange, 404, error("CARD_NOT_FOUND", "Card not found: " + cardId));
+            }
+        } else {
+            sendJson(exchange, 404, error("NOT_FOUND", method + " " + path));
+        }
+    }
+
+    // ---------- Auth ----------
+
+    // Unsigned JWT with an "exp" claim, so SessionCache can read its expiry like a real Auth0 token
+    private String issueToken(String subject) {
+        Base64.Encoder b64 = Base64.getUrlEncoder().withoutPadding();
+        long exp = System.currentTimeMillis() / 1000 + TOKEN_TTL_SECONDS;
+        String header = b64.encodeToString("{\"alg\":\"none\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = b64.encodeToString(("{\"sub\":\"" + subject + "\",\"exp\":" + exp + ",\"jti\":\""
+                + UUID.randomUUID() + "\"}").getBytes(StandardCharsets.UTF_8));
+        String token = header + "." + payload + ".mock";
+        tokens.add(token);
+        return token;
+    }
+
+    private boolean authorized(HttpExchange exchange) {
+        String auth = exchange.getRequestHeaders().getFirst("Authorization");
+        if (auth != null && auth.startsWith("Bearer ") && tokens.contains(auth.substring(7).trim())) {
+            return true;
+        }
+        // The dashboard's own table calls the API with its session cookie
+        return sessionToken(exchange).isPresent();
+    }
+
+    private Optional<String> sessionToken(HttpExchange exchange) {
+        String cookies = exchange.getRequestHeaders().getFirst("Cookie");
+        if (cookies == null) return Optional.empty();
+        for (String cookie : cookies.split(";")) {
+            String[] kv = cookie.trim().split("=", 2);
+            if (kv.length == 2 && kv[0].equals(SESSION_COOKIE) && tokens.contains(kv[1])) {
+                return Optional.of(kv[1]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // ---------- Helpers ----------
+
+    private String template(String name) {
+        return templates.computeIfAbsent(name, n -> {
+            try (InputStream in = LitecardMockServer.class.getResourceAsStream("/mock/" + n)) {
+                if (in == null) throw new IllegalStateException("Missing mock resource: /mock/" + n);
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read mock resource /mock/" + n, e);
+            }
+        });
+    }
+
+    private static JsonObject readJson(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        try {
+            return body.isBlank() ? new JsonObject() : JsonParser.parseString(body).getAsJsonObject();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Request body is not a JSON object: " + body);
+        }
+    }
+
+    private static String string(JsonObject obj, String field) {
+        return obj.has(field) && obj.get(field).isJsonPrimitive() ? obj.get(field).getAsString() : null;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue) {
+        try {
+            return Integer.parseInt(query.getOrDefault(name, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static Map<String, String> parseQuery(String raw) {
+        Map<String, String> params = new HashMap<>();
+        if (raw == null || raw.isEmpty()) return params;
+        for (String pair : raw.split("&")) {
+            String[] kv = pair.split("=", 2);
+            params.put(URLDecoder.decode(kv[0], StandardCharsets.UTF_8),
+                    kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "");
+        }
+        return params;
+    }
+
+    private static JsonObject error(String code, String message) {
+        JsonObject error = message(message);
+        error.addProperty("code", code);
+        return error;
+    }
+
+    private static JsonObject message(String message) {
+        JsonObject obj = new JsonObject();
+        obj.addProperty("message", message);
+        return obj;
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, JsonObject body) throws IOException {
+        send(exchange, status, "application/json", body.toString());
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.litecard.mock;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory cards behind the mock dashboard and bff-api.
+ *
+ * Cards are kept in creation order and shaped like the real API responses
+ * ({@code cardId}, {@code status}, {@code cardOwnerCopy}). Signing up twice with the
+ * same email returns the existing card, so re-runs against one server stay idempotent.
+ */
+public class MockCardStore {
+
+    private final Map<String, JsonObject> cardsById = new LinkedHashMap<>();
+    private final Map<String, String> idsByEmail = new LinkedHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** Creates (or returns) the card for {@code email} and returns its cardId */
+    public synchronized String signup(String firstName, String lastName, String email, String birthday) {
+        String key = email.toLowerCase(Locale.ROOT);
+        String existing = idsByEmail.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        String cardId = String.format("MOCK%08d", sequence.incrementAndGet());
+        JsonObject owner = new JsonObject();
+        owner.addProperty("firstName", firstName);
+        owner.addProperty("lastName", lastName);
+        owner.addProperty("email", email);
+        owner.addProperty("birthday", birthday);
+
+        JsonObject card = new JsonObject();
+        card.addProperty("cardId", cardId);
+        card.addProperty("status", "ACTIVE");
+        card.addProperty("createdAt", System.currentTimeMillis());
+        card.add("cardOwnerCopy", owner);
+
+        cardsById.put(cardId, card);
+        idsByEmail.put(key, cardId);
+        return cardId;
+    }
+
+    public synchronized Optional<JsonObject> get(String cardId) {
+        JsonObject card = cardsById.get(cardId);
+        return card == null ? Optional.empty() : Optional.of(card.deepCopy());
+    }
+
+    /** Cards whose id, name or email contains {@code search} (case-insensitive), one page at a time */
+    public synchronized JsonObject search(String search, int page, int pageSize) {
+        String q = search == null ? "" : search.trim().toLowerCase(Locale.ROOT);
+        List<JsonObject> matches = new ArrayList<>();
+        for (JsonObject card : cardsById.values()) {
+            if (q.isEmpty() || matches(card, q)) matches.add(card);
+        }
+
+        int size = Math.max(1, pageSize);
+        int from = Math.min(matches.size(), Math.max(0, page - 1) * size);
+        int to = Math.min(matches.size(), from + size);
+        JsonArray items = new JsonArray();
+        for (JsonObject card : matches.subList(from, to)) {
+            items.add(card.deepCopy());
+        }
+
+        JsonObject result = new JsonObject();
+        result.add("items", items);
+        result.addProperty("total", matches.size());
+        result.addProperty("page", Math.max(1, page));
+        result.addProperty("pageSize", size);
+        return result;
+    }
+
+    /** Applies {@code cardPayload} fields to the owner copy; empty if the card doesn't exist */
+    public synchronized Optional<JsonObject> update(String cardId, JsonObject cardPayload) {
+        JsonObject card = cardsById.get(cardId);
+        if (card == null) {
+            return Optional.empty();
+        }
+        JsonObject owner = card.getAsJsonObject("cardOwnerCopy");
+        for (Map.Entry<String, JsonElement> field : cardPayload.entrySet()) {
+            owner.add(field.getKey(), field.getValue().deepCopy());
+        }
+        return Optional.of(card.deepCopy());
+    }
+
+    /**
+     * Moves a card to {@code status}. DELETED removes it, like the real API, so a later
+     * lookup answers CARD_NOT_FOUND.
+     */
+    public synchronized StatusChange setStatus(String cardId, String status) {
+        JsonObject card = cardsById.get(cardId);
+        if (card == null) {
+            return StatusChange.NOT_FOUND;
+        }
+        if (status.equals(card.get("status").getAsString())) {
+            return StatusChange.UNCHANGED;
+        }
+        if ("DELETED".equals(status)) {
+            cardsById.remove(cardId);
+            idsByEmail.remove(card.getAsJsonObject("cardOwnerCopy").get("email").getAsString().toLowerCase(Locale.ROOT));
+        } else {
+            card.addProperty("status", status);
+        }
+        return StatusChange.CHANGED;
+    }
+
+    public synchronized int size() {
+        return cardsById.size();
+    }
+
+    private static boolean matches(JsonObject card, String q) {
+        if (card.get("cardId").getAsString().toLowerCase(Locale.ROOT).contains(q)) return true;
+        JsonObject owner = card.getAsJsonObject("cardOwnerCopy");
+        for (String field : new String[]{"email", "firstName", "lastName"}) {
+            if (owner.has(field) && owner.get(field).getAsString().toLowerCase(Locale.ROOT).contains(q)) return true;
+        }
+        return false;
+    }
+
+    public enum StatusChange { CHANGED, UNCHANGED, NOT_FOUND }
+}
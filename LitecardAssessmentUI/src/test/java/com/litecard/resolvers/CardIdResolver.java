@@ -0,0 +1,40 @@
+package com.litecard.resolvers;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Looks up the cardId of the pass created for an email address.
+ */
+public interface CardIdResolver {
+
+    /** Returns the cardId for {@code email}, or empty if no pass exists for it */
+    Optional<String> resolve(String email);
+
+    /**
+     * Resolves many emails, handing each result to {@code onResolved} as soon as it is known.
+     * Implementations that can look up concurrently should override this; the callback may
+     * then be invoked from several threads and in any order.
+     */
+    default void resolveEach(Collection<String> emails, BiConsumer<String, Optional<String>> onResolved) {
+        for (String email : emails) {
+            onResolved.accept(email, resolve(email));
+        }
+    }
+
+    /** Resolves many emails at once, keeping input order */
+    default Map<String, Optional<String>> resolveAll(Collection<String> emails) {
+        Map<String, Optional<String>> found = new ConcurrentHashMap<>();
+        resolveEach(emails, found::put);
+
+        Map<String, Optional<String>> resolved = new LinkedHashMap<>();
+        for (String email : emails) {
+            resolved.put(email, found.getOrDefault(email, Optional.empty()));
+        }
+        return resolved;
+    }
+}
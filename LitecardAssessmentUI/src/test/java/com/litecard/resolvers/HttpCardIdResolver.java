@@ -0,0 +1,149 @@
+package com.litecard.resolvers;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.litecard.api.BffApiClient;
+
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Resolves cardIds through the bff-api card search instead of the dashboard table.
+ *
+ * The search path is a format string with one %s for the URL-encoded email,
+ * e.g. "/card?search=%s". Lookups in {@link #resolveEach} run concurrently on the
+ * shared HTTP/2 client, at most {@code maxInFlight} at a time. A lookup that fails (non-2xx,
+ * unparsable body, I/O error) is logged and reported as empty, so it never discards the others.
+ */
+public class HttpCardIdResolver implements CardIdResolver {
+
+    public static final String DEFAULT_SEARCH_PATH = "/card?search=%s";
+
+    private static final String[] LIST_FIELDS = {"items", "data", "cards", "results"};
+
+    private final BffApiClient api;
+    private final String searchPath;
+    private final int maxInFlight;
+
+    public HttpCardIdResolver(BffApiClient api, String searchPath, int maxInFlight) {
+        this.api = api;
+        this.searchPath = (searchPath == null || searchPath.isBlank()) ? DEFAULT_SEARCH_PATH : searchPath;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    @Override
+    public Optional<String> resolve(String email) {
+        return parse(email, api.get(pathFor(email)));
+    }
+
+    @Override
+    public void resolveEach(Collection<String> emails, BiConsumer<String, Optional<String>> onResolved) {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        AtomicInteger failed = new AtomicInteger();
+        try {
+            for (String email : emails) {
+                inFlight.acquire();
+                pending.add(api.getAsync(pathFor(email))
+                        .thenApply(response -> parse(email, response))
+                        .handle((cardId, error) -> {
+                            if (error == null) return cardId;
+                            failed.incrementAndGet();
+                            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                    ? error.getCause() : error;
+                            System.err.println("LOOKUP FAILED: " + email + " - " + cause.getMessage());
+                            return Optional.<String>empty();
+                        })
+                        .thenAccept(cardId -> onResolved.accept(email, cardId))
+                        .whenComplete((r, e) -> inFlight.release()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while resolving cardIds", e);
+        }
+        // Only a failing onResolved (e.g. the mapping file) can still fail this
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+        if (failed.get() > 0) {
+            System.err.println("[HttpCardIdResolver] " + failed.get() + " of " + emails.size()
+                    + " lookup(s) failed and were left unresolved");
+        }
+    }
+
+    private String pathFor(String email) {
+        return String.format(searchPath, URLEncoder.encode(email, StandardCharsets.UTF_8));
+    }
+
+    private static Optional<String> parse(String email, HttpResponse<String> response) {
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        if (response.statusCode() < 200 || response.statusCode() > 299) {
+            throw new RuntimeException("Card search for " + email + " returned HTTP " + response.statusCode()
+                    + ": " + response.body());
+        }
+
+        for (JsonElement item : cardList(JsonParser.parseString(response.body()))) {
+            if (!item.isJsonObject()) continue;
+            JsonObject card = item.getAsJsonObject();
+            if (email.equalsIgnoreCase(emailOf(card))) {
+                String cardId = firstString(card, "cardId", "id");
+                if (cardId != null) {
+                    return Optional.of(cardId);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static JsonArray cardList(JsonElement root) {
+        if (root.isJsonArray()) {
+            return root.getAsJsonArray();
+        }
+        if (root.isJsonObject()) {
+            JsonObject obj = root.getAsJsonObject();
+            for (String field : LIST_FIELDS) {
+                if (obj.has(field) && obj.get(field).isJsonArray()) {
+                    return obj.getAsJsonArray(field);
+                }
+            }
+            // Single card object
+            JsonArray single = new JsonArray();
+            single.add(obj);
+            return single;
+        }
+        return new JsonArray();
+    }
+
+    private static String emailOf(JsonObject card) {
+        String email = firstString(card, "email");
+        if (email == null && card.has("cardOwnerCopy") && card.get("cardOwnerCopy").isJsonObject()) {
+            email = firstString(card.getAsJsonObject("cardOwnerCopy"), "email");
+        }
+        if (email == null && card.has("cardPayload") && card.get("cardPayload").isJsonObject()) {
+            email = firstString(card.getAsJsonObject("cardPayload"), "email");
+        }
+        return email;
+    }
+
+    private static String firstString(JsonObject obj, String... fields) {
+        for (String field : fields) {
+            JsonElement value = obj.get(field);
+            if (value != null && value.isJsonPrimitive()) {
+                return value.getAsString().trim();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.litecard.resolvers;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Resolves cardIds from an in-memory email→cardId index (keys lower-cased).
+ *
+ * The index is built on the first lookup, e.g. from
+ * {@link com.litecard.ui.pages.AdminPassesPage#extractAllCardIds()}, and every
+ * lookup after that is a hash-map hit.
+ */
+public class IndexedCardIdResolver implements CardIdResolver {
+
+    private final Supplier<Map<String, String>> indexLoader;
+    private volatile Map<String, String> index;
+
+    public IndexedCardIdResolver(Supplier<Map<String, String>> indexLoader) {
+        this.indexLoader = indexLoader;
+    }
+
+    @Override
+    public Optional<String> resolve(String email) {
+        return Optional.ofNullable(index().get(email.trim().toLowerCase(Locale.ROOT)));
+    }
+
+    private Map<String, String> index() {
+        Map<String, String> loaded = index;
+        if (loaded == null) {
+            synchronized (this) {
+                if (index == null) {
+                    index = indexLoader.get();
+                }
+                loaded = index;
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,23 @@
+package com.litecard.resolvers;
+
+import com.litecard.ui.pages.AdminPassesPage;
+
+import java.util.Optional;
+
+/**
+ * Resolves cardIds by searching the "View Passes" table in the admin dashboard.
+ * Expects {@link AdminPassesPage#openPasses()} to have been called.
+ */
+public class UiCardIdResolver implements CardIdResolver {
+
+    private final AdminPassesPage passes;
+
+    public UiCardIdResolver(AdminPassesPage passes) {
+        this.passes = passes;
+    }
+
+    @Override
+    public Optional<String> resolve(String email) {
+        return passes.findCardIdByEmail(email);
+    }
+}
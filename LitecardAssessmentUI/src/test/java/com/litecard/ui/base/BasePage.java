@@ -1,5 +1,6 @@
 package com.litecard.ui.base;
 
+import com.litecard.utils.WaitUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -11,10 +12,18 @@ import java.time.Duration;
 public class BasePage {
     protected WebDriver driver;
     protected WebDriverWait wait;
+    protected WaitUtils waits;
+    protected Duration timeout;
 
     public BasePage(WebDriver driver) {
+        this(driver, Duration.ofSeconds(15));
+    }
+
+    public BasePage(WebDriver driver, Duration timeout) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.timeout = timeout;
+        this.wait = new WebDriverWait(driver, timeout);
+        this.waits = new WaitUtils(driver);
     }
 
     protected WebElement waitForVisible(By by) {
@@ -26,5 +35,10 @@ public class BasePage {
         el.clear();
         el.sendKeys(text);
     }
-}
 
+    /** Waits for Ant Design spinners / loading tables to disappear */
+    protected void waitForAntIdle() { waits.waitForAntIdle(timeout); }
+
+    /** Waits until an element has stopped moving after a scroll or animation */
+    protected void waitForStable(WebElement el) { waits.waitForStable(el, timeout); }
+}
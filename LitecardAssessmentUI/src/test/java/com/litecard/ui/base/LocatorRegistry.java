@@ -0,0 +1,154 @@
+package com.litecard.ui.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Resolves a page's logical fields ("firstName", "submit", ...) at most once per page load.
+ *
+ * The first time a field is found on a page (scope = page class + URL) its discovery locator runs
+ * and the element is compiled into a unique CSS selector (#id, tag[name=...] or button[type=submit]).
+ * Compiled selectors are shared JVM-wide, so later page loads of the same form - in this browser or
+ * any other - skip discovery. Element references are kept until {@link #navigated} or until one goes stale.
+ * A compiled selector is only probed for a second (through querySelector, so the driver's implicit
+ * wait does not apply): if the page changed shape and it no longer matches, discovery takes over after
+ * that second instead of after the full timeout.
+ *
+ * Usage Example:
+ *   locators.define("email", By.xpath("//input[@type='email']"));
+ *   locators.navigated(url);
+ *   locators.use("email", el -> el.sendKeys(email));
+ */
+public class LocatorRegistry {
+
+    // Unique CSS selector for the element, or null when it has no stable id / name to key on
+    private static final String COMPILE_JS =
+            "var el = arguments[0], tag = el.tagName.toLowerCase();" +
+            "function unique(sel) { try { return document.querySelectorAll(sel).length === 1 ? sel : null; } catch (e) { return null; } }" +
+            "return (el.id && unique('#' + CSS.escape(el.id)))" +
+            "  || (el.getAttribute('name') && unique(tag + '[name=\"' + CSS.escape(el.getAttribute('name')) + '\"]'))" +
+            "  || (el.getAttribute('type') === 'submit' && unique(tag + '[type=\"submit\"]'))" +
+            "  || null;";
+
+    // The element for a compiled selector if it is rendered, else null
+    private static final String PROBE_JS =
+            "var el = document.querySelector(arguments[0]);" +
+            "return el && el.getClientRects().length > 0 ? el : null;";
+
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(1);
+
+    // scope + field -> compiled CSS selector (empty = not compilable, always use discovery)
+    private static final Map<String, Optional<String>> COMPILED = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final String pageName;
+    private final Map<String, Function<WebDriver, WebElement>> discovery = new LinkedHashMap<>();
+    private final Map<String, WebElement> resolved = new HashMap<>();
+    private String scope;
+
+    public LocatorRegistry(WebDriver driver, String pageName, Duration timeout) {
+        this.driver = driver;
+        this.wait = new WebDriverWait(driver, timeout);
+        this.pageName = pageName;
+        this.scope = pageName;
+    }
+
+    /** Registers a field found by waiting for {@code locator} to become visible */
+    public LocatorRegistry define(String field, By locator) {
+        return define(field, d -> wait.until(ExpectedConditions.visibilityOfElementLocated(locator)));
+    }
+
+    /** Registers a field with custom discovery; returning null means "not on this page" */
+    public LocatorRegistry define(String field, Function<WebDriver, WebElement> finder) {
+        discovery.put(field, finder);
+        return this;
+    }
+
+    /** Call after loading a URL: drops element references and switches to that URL's compiled selectors */
+    public void navigated(String url) {
+        resolved.clear();
+        scope = pageName + " " + url;
+    }
+
+    /** Forgets element references (e.g. after the page re-rendered) but keeps compiled selectors */
+    public void invalidate() {
+        resolved.clear();
+    }
+
+    /** The field's element for the current page load, resolving it if needed */
+    public WebElement element(String field) {
+        WebElement element = resolved.get(field);
+        if (element == null) {
+            element = resolve(field);
+            resolved.put(field, element);
+        }
+        return element;
+    }
+
+    /** Runs {@code action} on the field, re-resolving once if the cached reference went stale */
+    public void use(String field, Consumer<WebElement> action) {
+        try {
+            action.accept(element(field));
+        } catch (StaleElementReferenceException e) {
+            resolved.remove(field);
+            action.accept(element(field));
+        }
+    }
+
+    private WebElement resolve(String field) {
+        Function<WebDriver, WebElement> finder = discovery.get(field);
+        if (finder == null) {
+            throw new IllegalArgumentException("No locator defined for '" + field + "' on " + pageName);
+        }
+        String key = scope + "#" + field;
+        Optional<String> compiled = COMPILED.get(key);
+        if (compiled != null && compiled.isPresent()) {
+            WebElement element = probe(compiled.get());
+            if (element != null) {
+                return element;
+            }
+        }
+
+        WebElement element = finder.apply(driver);
+        if (element == null) {
+            throw new NoSuchElementException("Could not find '" + field + "' on " + pageName);
+        }
+        if (compiled == null || compiled.isPresent()) {
+            String css = (String) ((JavascriptExecutor) driver).executeScript(COMPILE_JS, element);
+            if (compiled != null && !compiled.get().equals(css)) {
+                // The page changed shape since the selector was compiled
+                System.out.println("[LocatorRegistry] " + compiled.get() + " no longer matches '" + field
+                        + "', recompiled as " + css);
+            }
+            COMPILED.put(key, Optional.ofNullable(css));
+        }
+        return element;
+    }
+
+    /** The compiled selector's element once it is rendered, or null if it is not within PROBE_TIMEOUT */
+    private WebElement probe(String css) {
+        try {
+            return new WebDriverWait(driver, PROBE_TIMEOUT, Duration.ofMillis(50))
+                    .until(d -> (WebElement) ((JavascriptExecutor) d).executeScript(PROBE_JS, css));
+        } catch (TimeoutException e) {
+            return null;
+        }
+    }
+}
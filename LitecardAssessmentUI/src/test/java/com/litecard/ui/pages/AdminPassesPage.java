@@ -1,24 +1,67 @@
 package com.litecard.ui.pages;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.litecard.metrics.Metrics;
+import com.litecard.ui.base.BasePage;
+import com.litecard.utils.WaitUtils;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
-public class AdminPassesPage {
-    private final WebDriver driver;
-    private final WebDriverWait wait;
+public class AdminPassesPage extends BasePage {
+    private static final int MAX_PAGES = 10_000;
+
+    // Returns the current table page as a JSON array of [cardId, email] pairs
+    private static final String READ_PAGE_JS =
+            "var out = [];" +
+            "document.querySelectorAll('tr.ant-table-row.ant-table-row-level-0').forEach(function (tr) {" +
+            "  var cells = tr.querySelectorAll('td.ant-table-cell');" +
+            "  if (cells.length >= 4) out.push([cells[0].innerText.trim(), cells[3].innerText.trim()]);" +
+            "});" +
+            "return JSON.stringify(out);";
+
+    // Clicks the pagination "next" arrow; returns false on the last page
+    private static final String NEXT_PAGE_JS =
+            "var next = document.querySelector('li.ant-pagination-next');" +
+            "if (!next || next.classList.contains('ant-pagination-disabled')" +
+            "    || next.getAttribute('aria-disabled') === 'true') return false;" +
+            "(next.querySelector('button') || next).click();" +
+            "return true;";
+
+    private static final String FIRST_ROW_JS =
+            "var row = document.querySelector('tr.ant-table-row.ant-table-row-level-0');" +
+            "return row ? row.innerText : '';";
+
+    // True once the table shows only rows matching the search text (or the empty placeholder)
+    private static final String SEARCH_APPLIED_JS =
+            "var q = args.toLowerCase();" +
+            "if (document.querySelector('" + WaitUtils.ANT_BUSY_SELECTOR + "')) return false;" +
+            "var rows = document.querySelectorAll('tr.ant-table-row.ant-table-row-level-0');" +
+            "if (rows.length === 0) return !!document.querySelector('.ant-table-placeholder, .ant-empty');" +
+            "for (var i = 0; i < rows.length; i++) {" +
+            "  if (rows[i].innerText.toLowerCase().indexOf(q) < 0) return false;" +
+            "}" +
+            "return true;";
 
     public AdminPassesPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(25));
+        super(driver, Duration.ofSeconds(25));
     }
 
     // Open the "View Passes" page via side navigation
     public void openPasses() {
+        Metrics.timer("passes.open").run(this::navigateToPasses);
+    }
+
+    private void navigateToPasses() {
         try {
             // Wait for the dashboard to finish loading
             wait.until(ExpectedConditions.or(
@@ -33,7 +76,7 @@ public class AdminPassesPage {
 
             // Scroll into view and click safely
             ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", passesMenu);
-            Thread.sleep(500);
+            waitForStable(passesMenu);
             try {
                 passesMenu.click();
             } catch (Exception e) {
@@ -55,13 +98,18 @@ public class AdminPassesPage {
                     ExpectedConditions.visibilityOfElementLocated(By.cssSelector("input[type='search']")),
                     ExpectedConditions.visibilityOfElementLocated(By.xpath("//table"))
             ));
-        } catch (TimeoutException | InterruptedException e) {
+            waitForAntIdle();
+        } catch (TimeoutException e) {
             throw new RuntimeException("Failed to navigate to 'View Passes' page or load elements in time.", e);
         }
     }
 
     // Search for a pass by email and extract its Card ID
     public Optional<String> findCardIdByEmail(String email) {
+        return Metrics.timer("passes.search").time(() -> searchCardId(email));
+    }
+
+    private Optional<String> searchCardId(String email) {
         try {
             // Wait for table or search field to be ready
             wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(
@@ -84,7 +132,6 @@ public class AdminPassesPage {
 
             // Scroll and clear it via JS
             ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", searchInput);
-            Thread.sleep(300);
 
             ((JavascriptExecutor) driver).executeScript(
                     "arguments[0].value = arguments[1]; arguments[0].dispatchEvent(new Event('input', { bubbles: true }));",
@@ -92,8 +139,8 @@ public class AdminPassesPage {
             );
             System.out.println("Set search value via JS: " + email);
 
-            // Wait for results to filter
-            Thread.sleep(2000);
+            // Wait for results to filter: returns as soon as the table shows only matching rows
+            Metrics.timer("passes.filterWait").run(() -> waits.waitForDomCondition(SEARCH_APPLIED_JS, timeout, email));
 
             // Fetch all visible rows
             List<WebElement> rows = driver.findElements(By.cssSelector("tr.ant-table-row.ant-table-row-level-0"));
@@ -116,4 +163,52 @@ public class AdminPassesPage {
             throw new RuntimeException("findCardIdByEmail failed for " + email + ": " + e.getMessage(), e);
         }
     }
+
+    /** cardIds of the rows on the current table page, keyed by lower-cased email, read with one JavaScript call */
+    public Map<String, String> readCurrentPage() {
+        JsonArray rows = JsonParser.parseString((String) ((JavascriptExecutor) driver).executeScript(READ_PAGE_JS)).getAsJsonArray();
+        Map<String, String> page = new LinkedHashMap<>();
+        for (JsonElement row : rows) {
+            JsonArray cells = row.getAsJsonArray();
+            String cardId = cells.get(0).getAsString();
+            String email = cells.get(1).getAsString();
+            if (!email.isEmpty() && !cardId.isEmpty()) {
+                page.putIfAbsent(email.toLowerCase(Locale.ROOT), cardId);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Pages through the whole passes table once and indexes every row by lower-cased email.
+     * Each page is read with a single JavaScript call, so the cost depends on the number
+     * of pages rather than the number of emails being looked up.
+     */
+    public Map<String, String> extractAllCardIds() {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(
+                By.cssSelector("tr.ant-table-row.ant-table-row-level-0")
+        ));
+
+        Map<String, String> index = new HashMap<>();
+        int pages = 0;
+        while (pages < MAX_PAGES) {
+            Metrics.timer("passes.readPage").time(this::readCurrentPage).forEach(index::putIfAbsent);
+            pages++;
+
+            String firstRow = (String) js.executeScript(FIRST_ROW_JS);
+            if (!Boolean.TRUE.equals(js.executeScript(NEXT_PAGE_JS))) {
+                break;
+            }
+            // Wait for the table to re-render with the next page's rows
+            Metrics.timer("passes.nextPage").run(() -> waits.waitForDomCondition(
+                    "if (document.querySelector('" + WaitUtils.ANT_BUSY_SELECTOR + "')) return false;" +
+                    "var row = document.querySelector('tr.ant-table-row.ant-table-row-level-0');" +
+                    "return !!row && row.innerText !== args;",
+                    timeout, firstRow));
+        }
+
+        System.out.println("Indexed " + index.size() + " passes from " + pages + " table page(s).");
+        return index;
+    }
 }
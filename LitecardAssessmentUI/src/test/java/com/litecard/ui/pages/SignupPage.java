@@ -1,25 +1,131 @@
 package com.litecard.ui.pages;
 
+import com.litecard.metrics.Metrics;
+import com.litecard.ui.base.BasePage;
+import com.litecard.ui.base.LocatorRegistry;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
 
-public class SignupPage {
-    private final WebDriver driver;
-    private final WebDriverWait wait;
+public class SignupPage extends BasePage {
+
+    /**
+     * KEYSTROKE types into each field like a user (fidelity runs); FAST sets every field,
+     * ticks the checkbox and submits in a single executeScript call (throughput runs).
+     */
+    public enum FillMode {
+        KEYSTROKE, FAST;
+
+        /** Parses a {@code signup.fill.mode} value; blank means KEYSTROKE */
+        public static FillMode parse(String value) {
+            if (value == null || value.isBlank()) return KEYSTROKE;
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown signup.fill.mode '" + value + "' (expected keystroke or fast)");
+            }
+        }
+    }
+
+    /**
+     * Finds every field first and only then fills and submits, so a form that is still rendering
+     * is left untouched and the call can be retried. Values go through React's native value setter
+     * followed by input/change events, otherwise controlled inputs would reset them on the next render.
+     * Returns null once submitted, or a description of what is not there yet.
+     */
+    private static final String FAST_FILL_JS =
+            "var values = arguments;" +
+            "if (window.__litecardLeaving) return 'previous page still showing';" +
+            "function visible(el) { return !!el && el.getClientRects().length > 0; }" +
+            "function input(test) {" +
+            "  return Array.prototype.find.call(document.querySelectorAll('input'), function (i) { return visible(i) && test(i); });" +
+            "}" +
+            "function hint(name, placeholder) {" +
+            "  return input(function (i) { return (i.name || '').toLowerCase().indexOf(name) >= 0 ||" +
+            "    (i.placeholder || '').toLowerCase().indexOf(placeholder) >= 0; });" +
+            "}" +
+            "var fields = [" +
+            "  hint('first', 'first name'), hint('last', 'last name')," +
+            "  input(function (i) { return i.type === 'email' || (i.name || '').indexOf('mail') >= 0; })," +
+            "  hint('birth', 'birthday')];" +
+            "var names = ['first name', 'last name', 'email', 'birthday'];" +
+            "var missing = names.filter(function (n, k) { return !fields[k]; });" +
+            "var checkbox = document.querySelector('input.ant-checkbox-input') || document.querySelector('input[type=checkbox]');" +
+            "if (!checkbox) missing.push('checkbox');" +
+            "var submit = document.querySelector('button[type=submit]') ||" +
+            "  Array.prototype.find.call(document.querySelectorAll('button'), function (b) {" +
+            "    return /submit|sign|create|join/i.test(b.innerText); });" +
+            "if (!submit) missing.push('submit button');" +
+            "if (missing.length) return 'not rendered yet: ' + missing.join(', ');" +
+            "var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;" +
+            "fields.forEach(function (field, k) {" +
+            "  field.focus();" +
+            "  setter.call(field, values[k]);" +
+            "  field.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "  field.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "  field.blur();" +
+            "});" +
+            "if (!checkbox.checked) checkbox.click();" +
+            "submit.click();" +
+            "return null;";
+
+    // Any Apple / Google wallet badge; case-insensitive attribute selectors instead of translate() XPath
+    private static final String WALLET_CSS =
+            "img[alt*='Wallet'], img[src*='wallet'], img[alt*='apple' i], img[alt*='google' i]";
+    private static final By WALLET_BUTTONS = By.cssSelector(WALLET_CSS);
+
+    // 'WALLET' once a wallet badge is visible, 'ERROR:<text>' for a visible form / message error, else null
+    private static final String SUBMISSION_STATE_JS =
+            "function visible(el) { return !!el && el.getClientRects().length > 0; }" +
+            "if (Array.prototype.some.call(document.querySelectorAll(\"" + WALLET_CSS + "\"), visible)) return 'WALLET';" +
+            "var error = Array.prototype.find.call(" +
+            "  document.querySelectorAll('.ant-form-item-explain-error, .ant-message-error, .ant-alert-error')," +
+            "  function (e) { return visible(e) && e.innerText.trim(); });" +
+            "return error ? 'ERROR:' + error.innerText.trim() : null;";
+
+    /** Where a submission stands, read without waiting: wallet shown, an error shown, or neither yet */
+    public record Submission(boolean walletVisible, String error) {
+        public boolean pending() {
+            return !walletVisible && error == null;
+        }
+    }
+
+    // Fallback when there is no button[type=submit]: the first button whose text reads like a submit
+    private static final String SUBMIT_BY_TEXT_JS =
+            "return Array.prototype.find.call(document.querySelectorAll('button'), function (b) {" +
+            "  return /submit|sign|create|join/i.test(b.innerText); }) || null;";
+
+    private final FillMode fillMode;
+    private final LocatorRegistry locators;
 
     public SignupPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        this(driver, FillMode.KEYSTROKE);
+    }
+
+    public SignupPage(WebDriver driver, FillMode fillMode) {
+        super(driver, Duration.ofSeconds(20));
+        this.fillMode = fillMode;
+        this.locators = new LocatorRegistry(driver, "SignupPage", timeout)
+                .define("firstName", inputByNameOrPlaceholder("first", "First Name"))
+                .define("lastName", inputByNameOrPlaceholder("last", "Last Name"))
+                .define("email", By.xpath("//input[@type='email' or contains(@name,'mail')]"))
+                .define("birthday", inputByNameOrPlaceholder("birth", "Birthday"))
+                .define("consent", By.cssSelector("span.ant-checkbox-inner"))
+                .define("submit", this::findSubmitButton);
     }
 
     /** Opens the signup form URL */
     public void open(String url) {
-        driver.get(url);
-        driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
+        Metrics.timer("signup.open").run(() -> {
+            driver.get(url);
+            locators.navigated(url);
+            driver.manage().window().maximize();
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
+        });
     }
 
     /**
@@ -27,26 +133,33 @@ public class SignupPage {
      * ticks the checkbox, and clicks the Submit button.
      */
     public void fillAndSubmit(String firstName, String lastName, String email, String birthday) {
+        if (fillMode == FillMode.FAST) {
+            Metrics.timer("signup.fastFill").run(() -> fastFill(firstName, lastName, email, birthday));
+        } else {
+            Metrics.timer("signup.fill").run(() -> fill(firstName, lastName, email, birthday));
+        }
+    }
+
+    /** One executeScript per attempt; retried only while the form is still rendering */
+    private void fastFill(String firstName, String lastName, String email, String birthday) {
+        String[] pending = {null};
+        try {
+            wait.until(d -> {
+                pending[0] = fastFillOnce(firstName, lastName, email, birthday);
+                return pending[0] == null ? Boolean.TRUE : null;
+            });
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Failed to fast-fill form, " + pending[0], e);
+        }
+    }
+
+    private void fill(String firstName, String lastName, String email, String birthday) {
         try {
-            // Fill First Name
-            WebElement firstNameInput = findInputByNameOrPlaceholder("first", "First Name");
-            firstNameInput.clear();
-            firstNameInput.sendKeys(firstName);
-
-            // Fill Last Name
-            WebElement lastNameInput = findInputByNameOrPlaceholder("last", "Last Name");
-            lastNameInput.clear();
-            lastNameInput.sendKeys(lastName);
-
-            // Fill Email
-            WebElement emailInput = findEmailField();
-            emailInput.clear();
-            emailInput.sendKeys(email);
-
-            // Fill Birthday (ISO date or plain yyyy-MM-dd)
-            WebElement birthdayInput = findInputByNameOrPlaceholder("birth", "Birthday");
-            birthdayInput.clear();
-            birthdayInput.sendKeys(birthday);
+            // Fill First Name, Last Name, Email and Birthday (dd/MM/yyyy)
+            typeInto("firstName", firstName);
+            typeInto("lastName", lastName);
+            typeInto("email", email);
+            typeInto("birthday", birthday);
 
             // Check the required checkbox (consent / terms)
             tickCheckbox();
@@ -59,32 +172,67 @@ public class SignupPage {
         }
     }
 
-    /** Find text input by name or placeholder keyword */
-    private WebElement findInputByNameOrPlaceholder(String nameHint, String placeholderHint) {
-        By locator = By.xpath(String.format(
+    /**
+     * Starts loading the form without waiting for it (the driver must use the "none" page load
+     * strategy for that). Until the new document replaces the current one, {@link #submitIfRendered}
+     * refuses to touch the page.
+     */
+    public void navigate(String url) {
+        ((JavascriptExecutor) driver).executeScript("window.__litecardLeaving = true;");
+        driver.get(url);
+        locators.navigated(url);
+    }
+
+    /** One fast-fill attempt: true if the form was filled and submitted, false if it is not rendered yet */
+    public boolean submitIfRendered(String firstName, String lastName, String email, String birthday) {
+        return fastFillOnce(firstName, lastName, email, birthday) == null;
+    }
+
+    /** Polls the submitted form once (a single script call) */
+    public Submission submission() {
+        String state = (String) ((JavascriptExecutor) driver).executeScript(SUBMISSION_STATE_JS);
+        if (state == null) return new Submission(false, null);
+        return state.equals("WALLET") ? new Submission(true, null) : new Submission(false, state.substring("ERROR:".length()));
+    }
+
+    private String fastFillOnce(String firstName, String lastName, String email, String birthday) {
+        return (String) ((JavascriptExecutor) driver).executeScript(FAST_FILL_JS, firstName, lastName, email, birthday);
+    }
+
+    /** Clears a registered field and types into it */
+    private void typeInto(String field, String value) {
+        locators.use(field, el -> {
+            el.clear();
+            el.sendKeys(value);
+        });
+    }
+
+    /** Case-insensitive match on an input's name or placeholder (XPath 1.0 has no lower-case(), hence translate()) */
+    public static By inputByNameOrPlaceholder(String nameHint, String placeholderHint) {
+        return By.xpath(String.format(
                 "//input[contains(translate(@name,'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'%s') " +
                         "or contains(translate(@placeholder,'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'%s')]",
                 nameHint.toLowerCase(), placeholderHint.toLowerCase()));
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
-    /** Find email field */
-    private WebElement findEmailField() {
-        By locator = By.xpath("//input[@type='email' or contains(@name,'mail')]");
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+    /** button[type=submit], else a button labelled like a submit; null if the form has neither */
+    private WebElement findSubmitButton(WebDriver d) {
+        List<WebElement> submit = d.findElements(By.cssSelector("button[type='submit']"));
+        if (!submit.isEmpty()) {
+            return submit.get(0);
+        }
+        return (WebElement) ((JavascriptExecutor) d).executeScript(SUBMIT_BY_TEXT_JS);
     }
 
     /** Tick the checkbox if not already checked */
     private void tickCheckbox() {
         try {
-            By checkboxLocator = By.cssSelector("span.ant-checkbox-inner");
-
-            // Wait until checkbox is visible in DOM
-            WebElement checkbox = wait.until(ExpectedConditions.visibilityOfElementLocated(checkboxLocator));
+            // Visible checkbox for this page load (resolved once, then reused)
+            WebElement checkbox = locators.element("consent");
 
             // Scroll slightly to make sure it's not overlapped by form fields
             ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block: 'center'});", checkbox);
-            Thread.sleep(500); // Allow React layout to stabilize
+            waitForStable(checkbox); // Allow React layout to stabilize
 
             // Extra safety: wait for clickable state (helps with overlay animations)
             wait.until(ExpectedConditions.elementToBeClickable(checkbox));
@@ -102,24 +250,15 @@ public class SignupPage {
     /** Clicks the Submit button */
     private void clickSubmit() {
         try {
-            // Try button[type='submit']
-            if (!driver.findElements(By.cssSelector("button[type='submit']")).isEmpty()) {
-                driver.findElement(By.cssSelector("button[type='submit']")).click();
-                return;
-            }
-
-            // Try any button with text like 'Submit' or 'Sign'
-            for (WebElement b : driver.findElements(By.tagName("button"))) {
-                String txt = b.getText().toLowerCase();
-                if (txt.contains("submit") || txt.contains("sign") || txt.contains("create") || txt.contains("join")) {
-                    b.click();
-                    return;
-                }
+            // button[type='submit'] or a button labelled Submit / Sign / Create / Join
+            locators.use("submit", WebElement::click);
+        } catch (NoSuchElementException e) {
+            try {
+                // Fallback: submit form directly
+                driver.findElement(By.tagName("form")).submit();
+            } catch (Exception ex) {
+                throw new RuntimeException("Could not click submit button: " + ex.getMessage(), ex);
             }
-
-            // Fallback: submit form directly
-            driver.findElement(By.tagName("form")).submit();
-
         } catch (Exception e) {
             throw new RuntimeException("Could not click submit button: " + e.getMessage(), e);
         }
@@ -130,15 +269,16 @@ public class SignupPage {
      * Returns true if found within timeout.
      */
     public boolean walletButtonsVisible() {
-        try {
-            By walletLocator = By.xpath(
-                    "//img[contains(@alt,'Wallet') or contains(@src,'wallet') or " +
-                            "contains(translate(@alt,'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'apple') or " +
-                            "contains(translate(@alt,'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'google')]"
-            );
+        long start = System.nanoTime();
+        boolean visible = waitForWalletButtons();
+        Metrics.timer("signup.wallet").record(start, System.nanoTime(), visible);
+        return visible;
+    }
 
+    private boolean waitForWalletButtons() {
+        try {
             WebElement walletBtn = new WebDriverWait(driver, Duration.ofSeconds(15))
-                    .until(ExpectedConditions.visibilityOfElementLocated(walletLocator));
+                    .until(ExpectedConditions.visibilityOfElementLocated(WALLET_BUTTONS));
 
             System.out.println("Wallet buttons found: ");
             return walletBtn.isDisplayed();
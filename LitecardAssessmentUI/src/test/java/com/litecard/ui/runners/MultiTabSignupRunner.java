@@ -0,0 +1,270 @@
+package com.litecard.ui.runners;
+
+import com.litecard.metrics.Metrics;
+import com.litecard.ui.pages.SignupPage;
+import com.litecard.ui.runners.ParallelSignupRunner.SignupRequest;
+import com.litecard.ui.runners.ParallelSignupRunner.SignupResult;
+import com.litecard.utils.DriverFactory;
+import com.litecard.utils.DriverPool;
+import com.litecard.utils.DriverPool.PooledDriver;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Runs several signups at once inside each pooled browser, one per tab, so concurrency grows
+ * with tabs instead of Chrome processes (and their memory).
+ *
+ * A WebDriver session executes one command at a time, so each browser gets one scheduler thread
+ * that walks its tabs round-robin and moves each one step forward without waiting: start loading
+ * the form, fill and submit it in a single script once it has rendered, then poll for the wallet
+ * badges. A tab that is waiting on the network or an animation costs one cheap poll per round
+ * while the others get driven. Browsers must be started with {@link #configure} so that loading
+ * one tab does not block the whole session until the page has finished.
+ */
+public class MultiTabSignupRunner {
+
+    private static final long POLL_INTERVAL_MS = 25;
+    private static final int MAX_BROWSER_FAILURES = 3;
+
+    private final DriverPool pool;
+    private final int tabsPerBrowser;
+    private final String formUrl;
+    private final Duration signupTimeout;
+
+    public MultiTabSignupRunner(DriverPool pool, int tabsPerBrowser, String formUrl, Duration signupTimeout) {
+        if (tabsPerBrowser < 1) throw new IllegalArgumentException("tabsPerBrowser must be at least 1");
+        this.pool = pool;
+        this.tabsPerBrowser = tabsPerBrowser;
+        this.formUrl = formUrl;
+        this.signupTimeout = signupTimeout;
+    }
+
+    /** Chrome options for multi-tab browsers: "none" page loads and no throttling of background tabs */
+    public static void configure(ChromeOptions opts) {
+        opts.setPageLoadStrategy(PageLoadStrategy.NONE);
+        opts.addArguments("--disable-background-timer-throttling", "--disable-renderer-backgrounding",
+                "--disable-backgrounding-occluded-windows");
+    }
+
+    /** Submits every request and returns the results in request order; {@code onResult} sees each as it completes */
+    public List<SignupResult> run(List<SignupRequest> requests, Consumer<SignupResult> onResult) {
+        Queue<Integer> pending = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < requests.size(); i++) pending.add(i);
+        AtomicReferenceArray<SignupResult> results = new AtomicReferenceArray<>(requests.size());
+        Consumer<Tab> finish = tab -> {
+            results.set(tab.index, tab.result);
+            onResult.accept(tab.result);
+        };
+
+        ExecutorService workers = Executors.newFixedThreadPool(pool.size());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < pool.size(); i++) {
+                futures.add(workers.submit(() -> {
+                    drainOnPooledBrowsers(requests, pending, finish);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Multi-tab signup was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Multi-tab signup worker failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+
+        SignupResult[] ordered = new SignupResult[requests.size()];
+        for (int i = 0; i < ordered.length; i++) {
+            SignupResult result = results.get(i);
+            // Only left unset when every browser kept dying
+            ordered[i] = result != null ? result : new SignupResult(requests.get(i).email(), false, "No browser available", 0);
+        }
+        return Arrays.asList(ordered);
+    }
+
+    /** Borrows a browser and schedules tabs on it until the queue is empty, replacing the browser if it dies */
+    private void drainOnPooledBrowsers(List<SignupRequest> requests, Queue<Integer> pending, Consumer<Tab> finish)
+            throws InterruptedException {
+        int failures = 0;
+        while (!pending.isEmpty() && failures < MAX_BROWSER_FAILURES) {
+            PooledDriver session = pool.borrow(Duration.ofMinutes(5));
+            List<Tab> tabs = new ArrayList<>();
+            boolean broken = false;
+            try {
+                schedule(session.driver(), tabs, requests, pending, finish);
+            } catch (WebDriverException e) {
+                // The session is gone: fail what its tabs had in flight and carry on with a fresh browser
+                broken = true;
+                failures++;
+                System.err.println("Browser failed during multi-tab signup: " + e.getMessage());
+                for (Tab tab : tabs) {
+                    if (tab.busy()) tab.complete(false, "Browser failed: " + e.getMessage(), finish);
+                }
+            } finally {
+                if (broken) {
+                    pool.invalidate(session);
+                } else {
+                    pool.release(session);
+                }
+            }
+        }
+    }
+
+    private void schedule(WebDriver driver, List<Tab> tabs, List<SignupRequest> requests, Queue<Integer> pending,
+                          Consumer<Tab> finish) throws InterruptedException {
+        for (String handle : openTabs(driver)) {
+            tabs.add(new Tab(handle, new SignupPage(driver, SignupPage.FillMode.FAST)));
+        }
+        String current = driver.getWindowHandle();
+
+        while (true) {
+            boolean busy = false;
+            boolean progressed = false;
+            for (Tab tab : tabs) {
+                if (!tab.busy()) {
+                    Integer next = pending.poll();
+                    if (next == null) continue;
+                    tab.assign(next, requests.get(next));
+                }
+                busy = true;
+                if (!tab.handle.equals(current)) {
+                    driver.switchTo().window(tab.handle);
+                    current = tab.handle;
+                }
+                progressed |= tab.step(finish);
+            }
+            if (!busy) return;
+            if (!progressed) Thread.sleep(POLL_INTERVAL_MS);
+        }
+    }
+
+    /**
+     * Reuses the browser's open tabs and opens more until there are {@code tabsPerBrowser}. The throughput
+     * profile's network rules only cover the browser's first tab, so each new tab gets them before it loads
+     * anything; reused tabs already got them when this runner opened them.
+     */
+    private List<String> openTabs(WebDriver driver) {
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        if (handles.size() > tabsPerBrowser) {
+            handles = handles.subList(0, tabsPerBrowser);
+        }
+        while (handles.size() < tabsPerBrowser) {
+            String handle = driver.switchTo().newWindow(WindowType.TAB).getWindowHandle();
+            DriverFactory.applyNetworkRules(driver, handle);
+            handles.add(handle);
+        }
+        return handles;
+    }
+
+    private enum Phase { IDLE, NEW, LOADING, SUBMITTED }
+
+    /** One tab's current signup and how far it has got */
+    private final class Tab {
+        final String handle;
+        final SignupPage page;
+        Phase phase = Phase.IDLE;
+        int index;
+        SignupRequest request;
+        SignupResult result;
+        long startNanos;
+        long deadlineNanos;
+
+        Tab(String handle, SignupPage page) {
+            this.handle = handle;
+            this.page = page;
+        }
+
+        boolean busy() {
+            return phase != Phase.IDLE;
+        }
+
+        void assign(int index, SignupRequest request) {
+            this.index = index;
+            this.request = request;
+            this.phase = Phase.NEW;
+            this.startNanos = System.nanoTime();
+            this.deadlineNanos = startNanos + signupTimeout.toNanos();
+        }
+
+        /** Advances by at most one step; true if something changed */
+        boolean step(Consumer<Tab> finish) {
+            try {
+                switch (phase) {
+                    case NEW -> {
+                        page.navigate(formUrl);
+                        phase = Phase.LOADING;
+                        return true;
+                    }
+                    case LOADING -> {
+                        if (page.submitIfRendered(request.firstName(), request.lastName(), request.email(), request.birthday())) {
+                            phase = Phase.SUBMITTED;
+                            return true;
+                        }
+                        return timedOut("Form did not render", finish);
+                    }
+                    case SUBMITTED -> {
+                        SignupPage.Submission submission = page.submission();
+                        if (submission.pending()) {
+                            return timedOut("Wallet buttons not shown", finish);
+                        }
+                        complete(submission.walletVisible(), submission.error(), finish);
+                        return true;
+                    }
+                    default -> {
+                        return false;
+                    }
+                }
+            } catch (NoSuchSessionException | UnreachableBrowserException e) {
+                throw e;
+            } catch (WebDriverException e) {
+                if (phase == Phase.LOADING || phase == Phase.SUBMITTED) {
+                    // Scripts can fail while the tab swaps documents; retry until the deadline
+                    return timedOut((phase == Phase.LOADING ? "Form did not render" : "Wallet buttons not shown")
+                            + " (" + e.getMessage() + ")", finish);
+                }
+                complete(false, e.getMessage(), finish);
+                return true;
+            }
+        }
+
+        private boolean timedOut(String what, Consumer<Tab> finish) {
+            if (System.nanoTime() < deadlineNanos) return false;
+            complete(false, what + " within " + signupTimeout.toSeconds() + "s", finish);
+            return true;
+        }
+
+        void complete(boolean walletVisible, String error, Consumer<Tab> finish) {
+            long end = System.nanoTime();
+            Metrics.timer("signup.tab").record(startNanos, end, walletVisible);
+            result = new SignupResult(request.email(), walletVisible, walletVisible ? null : error,
+                    (end - startNanos) / 1_000_000);
+            if (!walletVisible) {
+                System.err.println("Signup failed for " + request.email() + ": " + error);
+            }
+            phase = Phase.IDLE;
+            finish.accept(this);
+        }
+    }
+}
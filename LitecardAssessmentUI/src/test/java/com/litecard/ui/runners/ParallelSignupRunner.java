@@ -0,0 +1,111 @@
+package com.litecard.ui.runners;
+
+import com.litecard.ui.pages.SignupPage;
+import com.litecard.utils.DriverPool;
+import com.litecard.utils.DriverPool.PooledDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Spreads {@link SignupPage#fillAndSubmit} calls across a {@link DriverPool}.
+ *
+ * One worker thread per pooled session; each worker checks a browser out,
+ * submits one pass, verifies the wallet buttons and checks the browser back in.
+ */
+public class ParallelSignupRunner {
+
+    private final DriverPool pool;
+    private final String formUrl;
+    private final SignupPage.FillMode fillMode;
+
+    public ParallelSignupRunner(DriverPool pool, String formUrl) {
+        this(pool, formUrl, SignupPage.FillMode.KEYSTROKE);
+    }
+
+    public ParallelSignupRunner(DriverPool pool, String formUrl, SignupPage.FillMode fillMode) {
+        this.pool = pool;
+        this.formUrl = formUrl;
+        this.fillMode = fillMode;
+    }
+
+    /** Submits every request and returns the results in request order */
+    public List<SignupResult> run(List<SignupRequest> requests) {
+        return run(requests, result -> { });
+    }
+
+    /** Same as {@link #run(List)} but also hands each result to {@code onResult} as soon as it is known */
+    public List<SignupResult> run(List<SignupRequest> requests, Consumer<SignupResult> onResult) {
+        ExecutorService workers = Executors.newFixedThreadPool(pool.size());
+        try {
+            List<Future<SignupResult>> futures = new ArrayList<>(requests.size());
+            for (SignupRequest request : requests) {
+                futures.add(workers.submit(() -> {
+                    SignupResult result = submit(request);
+                    onResult.accept(result);
+                    return result;
+                }));
+            }
+
+            List<SignupResult> results = new ArrayList<>(requests.size());
+            for (Future<SignupResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Parallel signup was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Parallel signup worker failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /** Creates a single pass on whichever pooled browser is free */
+    public SignupResult submit(SignupRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        PooledDriver session = pool.borrow(Duration.ofMinutes(5));
+        boolean broken = false;
+        try {
+            SignupPage signup = new SignupPage(session.driver(), fillMode);
+            signup.open(formUrl);
+            signup.fillAndSubmit(request.firstName(), request.lastName(), request.email(), request.birthday());
+            boolean walletVisible = signup.walletButtonsVisible();
+            return new SignupResult(request.email(), walletVisible, null, elapsedMillis(start));
+        } catch (RuntimeException e) {
+            // A WebDriver failure may leave the browser in an unknown state, so don't reuse it
+            broken = e instanceof WebDriverException || e.getCause() instanceof WebDriverException;
+            System.err.println("Signup failed for " + request.email() + ": " + e.getMessage());
+            return new SignupResult(request.email(), false, e.getMessage(), elapsedMillis(start));
+        } finally {
+            // Checked back in exactly once, whichever way the signup ended
+            if (broken) {
+                pool.invalidate(session);
+            } else {
+                pool.release(session);
+            }
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /** Form values for one pass */
+    public record SignupRequest(String firstName, String lastName, String email, String birthday) { }
+
+    /** Outcome of one submission; {@code error} is null on success */
+    public record SignupResult(String email, boolean walletVisible, String error, long elapsedMillis) {
+        public boolean succeeded() {
+            return walletVisible && error == null;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.litecard.ui.runners;
+
+import com.litecard.resolvers.CardIdResolver;
+import com.litecard.ui.runners.ParallelSignupRunner.SignupRequest;
+import com.litecard.ui.runners.ParallelSignupRunner.SignupResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs signup and cardId extraction at the same time instead of one after the other.
+ *
+ * Signup workers (one per pooled browser) push every wallet-verified email onto a
+ * bounded queue; extraction workers take emails off it and resolve their cardIds.
+ * When extraction falls behind, the queue fills up and signup workers block on it
+ * (backpressure), so neither side runs away from the other.
+ *
+ * Each extraction worker gets its own resolver from {@code resolverFactory}; a
+ * resolver that is {@link AutoCloseable} is closed when its worker finishes.
+ */
+public class SignupExtractPipeline {
+
+    // Identity-compared end-of-stream marker, one per extraction worker
+    private static final String END = new String("<end>");
+
+    private final ParallelSignupRunner signup;
+    private final int signupWorkers;
+    private final int extractWorkers;
+    private final int queueCapacity;
+    private final Supplier<CardIdResolver> resolverFactory;
+
+    public SignupExtractPipeline(ParallelSignupRunner signup, int signupWorkers,
+                                 Supplier<CardIdResolver> resolverFactory, int extractWorkers, int queueCapacity) {
+        this.signup = signup;
+        this.signupWorkers = Math.max(1, signupWorkers);
+        this.resolverFactory = resolverFactory;
+        this.extractWorkers = Math.max(1, extractWorkers);
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+
+    public PipelineResult run(List<SignupRequest> requests) {
+        return run(requests, List.of(), r -> { }, (email, cardId) -> { });
+    }
+
+    /**
+     * Runs the whole batch. {@code backlog} holds emails that were already signed up
+     * (e.g. by an interrupted run) and only need their cardId; they are queued first.
+     * {@code onSignup} and {@code onResolved} are called from the worker threads as
+     * results come in, so they must be thread-safe.
+     */
+    public PipelineResult run(List<SignupRequest> requests, Collection<String> backlog,
+                              Consumer<SignupResult> onSignup, BiConsumer<String, Optional<String>> onResolved) {
+        BlockingQueue<String> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger liveExtractors = new AtomicInteger(extractWorkers);
+        AtomicLong blockedNanos = new AtomicLong();
+        Map<String, Optional<String>> resolved = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        long start = System.nanoTime();
+        ExecutorService producers = Executors.newFixedThreadPool(signupWorkers);
+        ExecutorService consumers = Executors.newFixedThreadPool(extractWorkers);
+        try {
+            List<Future<?>> extractors = new ArrayList<>(extractWorkers);
+            for (int i = 0; i < extractWorkers; i++) {
+                extractors.add(consumers.submit(() -> {
+                    extract(queue, liveExtractors, resolved, onResolved);
+                    return null;
+                }));
+            }
+            for (String email : backlog) {
+                hand(queue, email, liveExtractors);
+            }
+
+            List<Future<SignupResult>> signups = new ArrayList<>(requests.size());
+            for (SignupRequest request : requests) {
+                signups.add(producers.submit(() -> {
+                    SignupResult result = signup.submit(request);
+                    onSignup.accept(result);
+                    if (result.succeeded()) {
+                        long waitStart = System.nanoTime();
+                        hand(queue, result.email(), liveExtractors);
+                        blockedNanos.addAndGet(System.nanoTime() - waitStart);
+                    }
+                    return result;
+                }));
+            }
+
+            List<SignupResult> signupResults = new ArrayList<>(requests.size());
+            for (Future<SignupResult> future : signups) {
+                signupResults.add(future.get());
+            }
+            long signupDone = System.nanoTime();
+
+            for (int i = 0; i < extractWorkers; i++) {
+                hand(queue, END, liveExtractors);
+            }
+            for (Future<?> future : extractors) {
+                future.get();
+            }
+            long end = System.nanoTime();
+
+            Map<String, Optional<String>> cardIds;
+            synchronized (resolved) {
+                cardIds = new LinkedHashMap<>(resolved);
+            }
+            return new PipelineResult(signupResults, cardIds,
+                    (signupDone - start) / 1_000_000, (end - start) / 1_000_000, blockedNanos.get() / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Signup/extract pipeline was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Signup/extract pipeline worker failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            producers.shutdownNow();
+            consumers.shutdownNow();
+        }
+    }
+
+    private void extract(BlockingQueue<String> queue, AtomicInteger liveExtractors,
+                         Map<String, Optional<String>> resolved, BiConsumer<String, Optional<String>> onResolved) throws Exception {
+        CardIdResolver resolver = null;
+        try {
+            resolver = resolverFactory.get();
+            while (true) {
+                String email = queue.take();
+                if (email == END) {
+                    return;
+                }
+                Optional<String> cardId;
+                try {
+                    cardId = resolver.resolve(email);
+                } catch (RuntimeException e) {
+                    // One failed lookup shouldn't stop the worker; the email is reported as unresolved
+                    System.err.println("cardId lookup failed for " + email + ": " + e.getMessage());
+                    cardId = Optional.empty();
+                }
+                resolved.put(email, cardId);
+                onResolved.accept(email, cardId);
+            }
+        } finally {
+            liveExtractors.decrementAndGet();
+            if (resolver instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    // Blocks while the queue is full, but gives up if every extraction worker has died
+    private static void hand(BlockingQueue<String> queue, String email, AtomicInteger liveExtractors) throws InterruptedException {
+        while (!queue.offer(email, 1, TimeUnit.SECONDS)) {
+            if (liveExtractors.get() == 0) {
+                throw new IllegalStateException("No extraction workers left to take " + email);
+            }
+        }
+    }
+
+    /**
+     * Outcome of one batch. {@code signupMillis} is when the last signup finished,
+     * {@code totalMillis} when the last cardId was resolved; {@code producerBlockedMillis}
+     * is the time signup workers spent waiting on a full queue, summed over workers.
+     */
+    public record PipelineResult(List<SignupResult> signups, Map<String, Optional<String>> cardIds,
+                                 long signupMillis, long totalMillis, long producerBlockedMillis) {
+
+        /** Time extraction kept running after signup had finished */
+        public long extractTailMillis() {
+            return totalMillis - signupMillis;
+        }
+    }
+}
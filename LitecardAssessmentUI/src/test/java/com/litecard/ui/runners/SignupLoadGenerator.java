@@ -0,0 +1,272 @@
+package com.litecard.ui.runners;
+
+import com.litecard.api.HttpSignupClient;
+import com.litecard.metrics.LoadReport;
+import com.litecard.metrics.Metrics;
+import com.litecard.ui.pages.SignupPage;
+import com.litecard.utils.DriverPool;
+import com.litecard.utils.DriverPool.PooledDriver;
+import com.litecard.utils.IdentityGenerator;
+import com.litecard.utils.IdentityGenerator.Identity;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Drives the signup form as a synthetic load for a fixed duration and measures submit -> wallet-visible.
+ *
+ * OPEN model: signups arrive at a target rate (read again before every arrival, so a soak run can be
+ * re-paced through a config reload) whether or not earlier ones have finished; {@code workers} threads
+ * take arrivals off a backlog. CLOSED model: {@code workers} users each start a signup every
+ * {@code pacing} (immediately again when they are behind).
+ *
+ * Every signup has an intended start time on a fixed schedule, and nothing is left out when the form
+ * slows down: submit -> wallet samples are corrected for coordinated omission with HdrHistogram's
+ * expected interval (the schedule gap each worker should have kept), and intended start -> wallet
+ * includes the time arrivals spent waiting for a free worker.
+ *
+ * Usage Example:
+ *   SignupLoadGenerator load = new SignupLoadGenerator(SignupLoadGenerator.browser(pool, formUrl, FillMode.FAST), identities);
+ *   LoadReport report = load.open(() -> 2.0, pool.size(), Duration.ofMinutes(10), Duration.ofSeconds(60));
+ */
+public class SignupLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    /** One signup: fill, submit and wait for the wallet badges */
+    @FunctionalInterface
+    public interface Submitter {
+        Attempt submit(Identity identity) throws Exception;
+    }
+
+    /** When the form was submitted (System.nanoTime, 0 if it never was) and whether the wallet badges appeared */
+    public record Attempt(long submittedNanos, boolean walletVisible, String error) { }
+
+    private final Submitter submitter;
+    private final IdentityGenerator identities;
+
+    public SignupLoadGenerator(Submitter submitter, IdentityGenerator identities) {
+        this.submitter = submitter;
+        this.identities = identities;
+    }
+
+    /** Submits through a pooled browser; a browser that throws a WebDriverException is replaced */
+    public static Submitter browser(DriverPool pool, String formUrl, SignupPage.FillMode fillMode) {
+        return identity -> {
+            PooledDriver session = pool.borrow(Duration.ofMinutes(5));
+            boolean broken = false;
+            try {
+                SignupPage signup = new SignupPage(session.driver(), fillMode);
+                signup.open(formUrl);
+                signup.fillAndSubmit(identity.firstName(), identity.lastName(), identity.email(), identity.birthday());
+                long submitted = System.nanoTime();
+                boolean walletVisible = signup.walletButtonsVisible();
+                return new Attempt(submitted, walletVisible, walletVisible ? null : "Wallet buttons not shown");
+            } catch (RuntimeException e) {
+                broken = e instanceof WebDriverException || e.getCause() instanceof WebDriverException;
+                throw e;
+            } finally {
+                if (broken) {
+                    pool.invalidate(session);
+                } else {
+                    pool.release(session);
+                }
+            }
+        };
+    }
+
+    /** Posts the form's signup request directly; "submitted" is when the request leaves, as with a click */
+    public static Submitter http(HttpSignupClient client) {
+        return identity -> {
+            long submitted = System.nanoTime();
+            HttpSignupClient.SignupResult result = client.signup(identity);
+            return new Attempt(submitted, result.succeeded(), result.error());
+        };
+    }
+
+    /**
+     * Sends the {@code uiFraction} sample of the signups ({@link HttpSignupClient#inUiSample}) to {@code ui}
+     * (a fidelity check) and the rest to {@code bulk}. With {@code uiFraction > 0} the first signup goes
+     * through {@code ui} as well, so a short run still checks the form at least once.
+     */
+    public static Submitter sampled(Submitter ui, Submitter bulk, double uiFraction) {
+        AtomicBoolean started = new AtomicBoolean();
+        return identity -> {
+            boolean first = !started.getAndSet(true);
+            return uiFraction > 0 && (first || HttpSignupClient.inUiSample(identity.email(), uiFraction))
+                    ? ui.submit(identity)
+                    : bulk.submit(identity);
+        };
+    }
+
+    /**
+     * Open model: arrivals at {@code ratePerSecond} for {@code duration}, served by {@code workers} threads.
+     * Arrivals still waiting after {@code drain} past the end are reported as dropped.
+     */
+    public LoadReport open(DoubleSupplier ratePerSecond, int workers, Duration duration, Duration drain) {
+        Run run = new Run(String.format(Locale.ROOT, "open, %.2f/s target, %d workers", ratePerSecond.getAsDouble(), workers),
+                true, duration);
+        BlockingQueue<Long> backlog = new LinkedBlockingQueue<>();
+        long endNanos = run.startNanos + duration.toNanos();
+        long drainUntil = endNanos + drain.toNanos();
+
+        Thread arrivals = new Thread(() -> {
+            long next = run.startNanos;
+            while (next < endNanos && !Thread.currentThread().isInterrupted()) {
+                sleepUntil(next);
+                backlog.add(next);
+                double rate = ratePerSecond.getAsDouble();
+                next += (long) (1e9 / Math.max(rate, 1e-3));
+            }
+        }, "load-arrivals");
+        arrivals.setDaemon(true);
+        arrivals.start();
+
+        runWorkers(workers, worker -> {
+            Iterator<Identity> ids = identities.iterator(worker);
+            while (true) {
+                Long intended = backlog.poll(50, TimeUnit.MILLISECONDS);
+                if (intended == null) {
+                    if (!arrivals.isAlive() && backlog.isEmpty()) return;
+                    continue;
+                }
+                if (System.nanoTime() > drainUntil) {
+                    run.dropped.incrementAndGet();
+                    continue;
+                }
+                // Each worker is expected to start one arrival every workers / rate seconds
+                long expectedInterval = (long) (workers * 1e9 / Math.max(ratePerSecond.getAsDouble(), 1e-3));
+                run.attempt(ids.next(), intended, expectedInterval);
+            }
+        });
+        arrivals.interrupt();
+        return run.report();
+    }
+
+    /** Closed model: {@code users} users, each starting a signup every {@code pacing} for {@code duration} */
+    public LoadReport closed(int users, Duration pacing, Duration duration) {
+        Run run = new Run(String.format(Locale.ROOT, "closed, %d users, %d ms pacing", users, pacing.toMillis()),
+                false, duration);
+        long endNanos = run.startNanos + duration.toNanos();
+
+        runWorkers(users, worker -> {
+            Iterator<Identity> ids = identities.iterator(worker);
+            long intended = run.startNanos;
+            while (intended < endNanos) {
+                sleepUntil(intended);
+                // Without pacing a user simply goes again, so there is no schedule to fall behind
+                long start = pacing.isZero() ? System.nanoTime() : intended;
+                run.attempt(ids.next(), start, pacing.toNanos());
+                intended = pacing.isZero() ? System.nanoTime() : intended + pacing.toNanos();
+            }
+        });
+        return run.report();
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        void run(int worker) throws Exception;
+    }
+
+    /** Runs workers 1..count and waits for them */
+    private static void runWorkers(int count, Worker body) {
+        ExecutorService pool = Executors.newFixedThreadPool(count);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 1; i <= count; i++) {
+                int worker = i;
+                futures.add(pool.submit(() -> {
+                    body.run(worker);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Load run was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Load worker failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) return;
+        }
+    }
+
+    /** Histograms and counters of one run, shared by its workers */
+    private final class Run {
+        final String description;
+        final boolean openModel;
+        final Duration duration;
+        final long startNanos = System.nanoTime();
+        final Histogram corrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final Histogram raw = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final Histogram endToEnd = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final AtomicLong succeeded = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+
+        Run(String description, boolean openModel, Duration duration) {
+            this.description = description;
+            this.openModel = openModel;
+            this.duration = duration;
+            System.out.println("[Load] Starting " + description + " for " + duration.toSeconds() + "s");
+        }
+
+        void attempt(Identity identity, long intendedNanos, long expectedIntervalNanos) {
+            Attempt attempt;
+            try {
+                attempt = submitter.submit(identity);
+            } catch (Exception e) {
+                attempt = new Attempt(0, false, e.getMessage());
+            }
+            long done = System.nanoTime();
+            if (!attempt.walletVisible()) {
+                failed.incrementAndGet();
+                System.err.println("[Load] Signup failed for " + identity.email() + ": " + attempt.error());
+                return;
+            }
+            succeeded.incrementAndGet();
+            long serviceMicros = micros(done - attempt.submittedNanos());
+            raw.recordValue(serviceMicros);
+            corrected.recordValueWithExpectedInterval(serviceMicros, expectedIntervalNanos / 1_000);
+            endToEnd.recordValue(micros(done - intendedNanos));
+            Metrics.timer("load.submitToWallet").record(attempt.submittedNanos(), done, true);
+        }
+
+        LoadReport report() {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+            return new LoadReport(description, openModel, duration, elapsed, succeeded.get(), failed.get(), dropped.get(),
+                    corrected.copy(), raw.copy(), endToEnd.copy());
+        }
+
+        private long micros(long nanos) {
+            return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, nanos / 1_000));
+        }
+    }
+}
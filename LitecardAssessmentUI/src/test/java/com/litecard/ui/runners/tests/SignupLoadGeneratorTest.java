@@ -0,0 +1,90 @@
+package com.litecard.ui.runners.tests;
+
+import com.litecard.metrics.LoadReport;
+import com.litecard.ui.runners.SignupLoadGenerator;
+import com.litecard.ui.runners.SignupLoadGenerator.Attempt;
+import com.litecard.utils.IdentityGenerator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs SignupLoadGenerator with a fake Submitter that takes a fixed time per signup - no browser or
+ * network - and checks the counts and the SLO verdict in the LoadReport. Counts get a small tolerance
+ * and latency bounds are far from the simulated service times, so a busy CI agent doesn't flip them.
+ */
+public class SignupLoadGeneratorTest {
+
+    private static final LoadReport.Slo SLO = new LoadReport.Slo(Duration.ofMillis(200), Duration.ofMillis(400), 0.01);
+    // For runs well within capacity: only a stalled agent would get near it
+    private static final LoadReport.Slo GENEROUS_SLO = new LoadReport.Slo(Duration.ofSeconds(2), Duration.ofSeconds(4), 0.01);
+    private static final long COUNT_TOLERANCE = 2;
+
+    @Test
+    public void openModelJudgesTheSloOnBacklogWait() {
+        // 50 arrivals/s on one worker that needs 40 ms each: the backlog grows to about a second,
+        // while every submit -> wallet stays at 40 ms
+        LoadReport report = generator(Duration.ofMillis(40))
+                .open(() -> 50, 1, Duration.ofSeconds(1), Duration.ofSeconds(10));
+
+        assertAbout(report.succeeded(), 50);
+        Assert.assertEquals(report.dropped(), 0);
+        Assert.assertEquals(report.sloLatency(), "intended start->wallet");
+        Assert.assertTrue(report.percentileMillis(95) > 500, "p95 " + report.percentileMillis(95) + " ms");
+        List<String> breaches = report.breaches(SLO);
+        Assert.assertTrue(breaches.stream().anyMatch(b -> b.startsWith("p95")), "breaches: " + breaches);
+    }
+
+    @Test
+    public void openModelWithinCapacityMeetsTheSlo() {
+        LoadReport report = generator(Duration.ofMillis(5))
+                .open(() -> 20, 2, Duration.ofSeconds(1), Duration.ofSeconds(10));
+
+        assertAbout(report.succeeded(), 20);
+        Assert.assertEquals(report.errorRate(), 0.0);
+        Assert.assertTrue(report.breaches(GENEROUS_SLO).isEmpty(), "breaches: " + report.breaches(GENEROUS_SLO));
+    }
+
+    @Test
+    public void arrivalsLeftAfterTheDrainAreDropped() {
+        LoadReport report = generator(Duration.ofMillis(40))
+                .open(() -> 50, 1, Duration.ofSeconds(1), Duration.ZERO);
+
+        Assert.assertTrue(report.dropped() > 0, "nothing dropped");
+        assertAbout(report.succeeded() + report.failed() + report.dropped(), 50);
+        Assert.assertTrue(report.errorRate() > SLO.errorRate());
+    }
+
+    @Test
+    public void failedSignupsBreachTheSlo() {
+        SignupLoadGenerator load = new SignupLoadGenerator(identity -> {
+            throw new IllegalStateException("form did not load");
+        }, identities());
+        LoadReport report = load.closed(2, Duration.ofMillis(100), Duration.ofMillis(500));
+
+        Assert.assertEquals(report.succeeded(), 0);
+        Assert.assertTrue(report.failed() > 0);
+        Assert.assertEquals(report.sloLatency(), "submit->wallet (corrected)");
+        Assert.assertTrue(report.breaches(SLO).contains("no signup completed"), "breaches: " + report.breaches(SLO));
+    }
+
+    private static void assertAbout(long actual, long expected) {
+        Assert.assertTrue(Math.abs(actual - expected) <= COUNT_TOLERANCE, "expected about " + expected + " but was " + actual);
+    }
+
+    /** Every signup takes {@code serviceTime} from submit to the wallet buttons and succeeds */
+    private static SignupLoadGenerator generator(Duration serviceTime) {
+        return new SignupLoadGenerator(identity -> {
+            long submitted = System.nanoTime();
+            LockSupport.parkNanos(serviceTime.toNanos());
+            return new Attempt(submitted, true, null);
+        }, identities());
+    }
+
+    private static IdentityGenerator identities() {
+        return new IdentityGenerator("loadtest", 42, "Load");
+    }
+}
@@ -1,79 +1,201 @@
 package com.litecard.ui.tests;
 
+import com.litecard.api.BffApiClient;
+import com.litecard.api.BrowserTokenExtractor;
+import com.litecard.resolvers.CardIdResolver;
+import com.litecard.resolvers.HttpCardIdResolver;
+import com.litecard.resolvers.IndexedCardIdResolver;
+import com.litecard.resolvers.UiCardIdResolver;
 import com.litecard.ui.pages.AdminLoginPage;
 import com.litecard.ui.pages.AdminPassesPage;
-import com.litecard.utils.CsvUtils;
+import com.litecard.utils.CsvMappingWriter;
+import com.litecard.utils.JsonMappingWriter;
+import com.litecard.utils.MappingWriter;
+import com.litecard.utils.PipelineJournal;
+import com.litecard.utils.PipelineJournal.Stage;
+import com.litecard.utils.SessionCache;
 import config.TestConfig;
-import org.apache.commons.lang3.tuple.Pair;
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 public class AdminExtractTest extends BaseTest {
 
+    @Override
+    protected void skipUnlessApplicable() throws IOException {
+        if ("pipeline".equalsIgnoreCase(TestConfig.get().signupMode())) {
+            throw new SkipException("signup.mode is 'pipeline' - cardIds are extracted by PipelineTest");
+        }
+        skipIfEverythingResolved();
+    }
+
     @Test
     public void extractCardIds() throws Exception {
         System.out.println("===Starting AdminExtractTest ===");
 
         // 1.Login to the Litecard dashboard through Auth0
-        AdminLoginPage login = new AdminLoginPage(driver);
-        login.open(TestConfig.props.getProperty("base.url"));
-        login.login(
-                TestConfig.props.getProperty("admin.username"),
-                TestConfig.props.getProperty("admin.password")
-        );
-
-        // 2.Once logged in, open the Passes page or section
-        AdminPassesPage passes = new AdminPassesPage(driver);
-        passes.openPasses();
-        System.out.println("Opened Passes section in dashboard.");
-
-        // 3.Load previously created email list
-        List<String> emails = Files.readAllLines(Paths.get("target/emails_created.csv"))
-                .stream()
-                .skip(1) // skip header row
-                .filter(line -> !line.trim().isEmpty())
-                .collect(Collectors.toList());
+        //   (a cached session under target/ skips the Auth0 round trip while it is valid)
+        AdminLoginPage login = new AdminLoginPage(driver());
+        if (TestConfig.get().bool("session.cache.enabled", true)) {
+            login.loginWithSessionCache(
+                    TestConfig.get().string("base.url"),
+                    TestConfig.get().string("admin.username"),
+                    TestConfig.get().string("admin.password"),
+                    new SessionCache(
+                            Paths.get(TestConfig.get().string("session.cache.file", "target/session/admin-session.json")),
+                            TestConfig.get().sessionTtl())
+            );
+        } else {
+            login.open(TestConfig.get().string("base.url"));
+            login.login(
+                    TestConfig.get().string("admin.username"),
+                    TestConfig.get().string("admin.password")
+            );
+        }
 
-        System.out.println("Loaded " + emails.size() + " emails from target/emails_created.csv");
+        // 2.Pick how cardIds are looked up (cardid.resolver=ui|bulk|http)
+        Path journalFile = Paths.get(TestConfig.get().string("pipeline.journal", "target/pipeline-journal.csv"));
+        boolean useJournal = Files.exists(journalFile);
+        boolean follow = useJournal && TestConfig.get().bool("pipeline.follow", false);
+        CardIdResolver resolver = createResolver(follow);
+
+        // 3.Load the emails still waiting for a cardId: from the pipeline journal when signup wrote one,
+        //   otherwise from the plain email list
+        String outputPath = TestConfig.get().string("output.file", "target/card_mapping.csv");
+        Path jsonOut = Paths.get(TestConfig.get().string("output.json"));
+        AtomicInteger mapped = new AtomicInteger();
+        Set<String> followed = new HashSet<>();
+        int expected;
+
+        try (PipelineJournal journal = PipelineJournal.open(journalFile)) {
+            List<String> emails;
+            if (useJournal) {
+                emails = journal.emailsAt(Stage.WALLET_VERIFIED);
+                System.out.println("Loaded " + emails.size() + " pending emails from " + journalFile);
+            } else {
+                Path emailsFile = Paths.get(TestConfig.get().string("emails.file", "target/emails_created.csv"));
+                emails = Files.readAllLines(emailsFile)
+                        .stream()
+                        .skip(1) // skip header row
+                        .filter(line -> !line.trim().isEmpty())
+                        .collect(Collectors.toList());
+                System.out.println("Loaded " + emails.size() + " emails from " + emailsFile);
+            }
+            int alreadyResolved = (int) journal.entries().stream()
+                    .filter(e -> e.stage().compareTo(Stage.CARDID_RESOLVED) >= 0)
+                    .count();
+
+            // 4.For each email, find its corresponding cardId and stream it straight to the CSV
+            //   (each record is flushed and journaled as it is resolved, so a restart only redoes the rest)
+            try (MappingWriter writer = new CsvMappingWriter(Paths.get(outputPath), alreadyResolved > 0)) {
+                BiConsumer<String, Optional<String>> onResolved = (email, cardId) -> {
+                    if (cardId.isPresent()) {
+                        try {
+                            writer.write(email, cardId.get());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("Failed to write mapping for " + email, e);
+                        }
+                        journal.record(email, Stage.CARDID_RESOLVED, cardId.get());
+                        mapped.incrementAndGet();
+                    } else {
+                        System.out.println("NOT FOUND: " + email);
+                    }
+                };
+                resolver.resolveEach(emails, onResolved);
+
+                if (follow) {
+                    // Signup is (about to be) running: pick up each pass as soon as its wallet is verified.
+                    // Only a marker written after we opened the journal ends this; an earlier run's doesn't.
+                    System.out.println("Following " + journalFile + " until signup completes...");
+                    Duration idle = TestConfig.get().pipelineFollowIdle();
+                    journal.follow(idle, entry -> {
+                        if (entry.stage() == Stage.WALLET_VERIFIED && !journal.reached(entry.email(), Stage.CARDID_RESOLVED)) {
+                            followed.add(entry.email());
+                            onResolved.accept(entry.email(), resolver.resolve(entry.email()));
+                        }
+                    });
+                }
+            }
+            System.out.println("Saved " + mapped.get() + " new mappings to " + outputPath
+                    + (alreadyResolved > 0 ? " (" + alreadyResolved + " resolved by earlier runs)" : ""));
+
+            // Rebuild the JSON report from everything resolved so far, including earlier runs
+            try (MappingWriter json = new JsonMappingWriter(jsonOut)) {
+                for (PipelineJournal.Entry entry : journal.entries()) {
+                    if (entry.cardId() != null) json.write(entry.email(), entry.cardId());
+                }
+            }
 
-        List<Pair<String, String>> mapping = new ArrayList<>();
+            if (useJournal) {
+                journal.entries().stream()
+                        .filter(e -> e.stage().compareTo(Stage.WALLET_VERIFIED) >= 0)
+                        .forEach(e -> followed.add(e.email()));
+                expected = followed.size();
+            } else {
+                expected = emails.size();
+            }
+            mapped.addAndGet(alreadyResolved);
+        }
 
-        // 4.For each email, find its corresponding cardId in the dashboard
-        for (String email : emails) {
-            System.out.println("Searching for cardId linked to: " + email);
+        // 5.Assert expected number of mappings
+        Assert.assertEquals(mapped.get(), expected,
+                "Expected all created passes to be mapped with cardIds.");
 
-            Optional<String> cardId = passes.findCardIdByEmail(email);
+        System.out.println("AdminExtractTest completed successfully.");
+    }
 
-            if (cardId.isPresent()) {
-                //System.out.println("Found cardId for " + email + ": " + cardId.get());
-                mapping.add(Pair.of(email, cardId.get()));
-            } else {
-                System.out.println("NOT FOUND: " + email);
+    /** Signup captured every cardId from its API responses, so there is nothing to look up in the dashboard */
+    private void skipIfEverythingResolved() throws IOException {
+        Path journalFile = Paths.get(TestConfig.get().string("pipeline.journal", "target/pipeline-journal.csv"));
+        // While following, a new signup run may still add passes
+        if (!Files.exists(journalFile) || TestConfig.get().bool("pipeline.follow", false)) {
+            return;
+        }
+        try (PipelineJournal journal = PipelineJournal.open(journalFile)) {
+            if (journal.signupCompletedEarlier() && !journal.entries().isEmpty() && journal.emailsAt(Stage.WALLET_VERIFIED).isEmpty()) {
+                throw new SkipException("Every pass in " + journalFile + " already has a cardId (captured at signup)");
             }
         }
+    }
 
-        // 5.Save mappings to CSV
-        String outputPath = TestConfig.props.getProperty("output.file", "target/card_mapping.csv");
-        CsvUtils.writeMapping(mapping, Paths.get(outputPath));
-        System.out.println("Saved " + mapping.size() + " mappings to " + outputPath);
-
-        // Also write JSON report
-        Path jsonOut = Paths.get(TestConfig.props.getProperty("output.json"));
-        CsvUtils.writeJsonReport(mapping, jsonOut);
+    /** With {@code follow}, passes are still being created, so the bulk index would miss them */
+    private CardIdResolver createResolver(boolean follow) {
+        String mode = TestConfig.get().string("cardid.resolver", "ui");
+        if ("http".equalsIgnoreCase(mode)) {
+            // Reuse the dashboard's own bearer token for direct bff-api lookups
+            String token = BrowserTokenExtractor.extract(driver());
+            BffApiClient api = BffApiClient.fromConfig(token);
+            int maxInFlight = TestConfig.get().apiMaxInFlight();
+            System.out.println("Resolving cardIds through bff-api: " + api.baseUrl());
+            return new HttpCardIdResolver(api, TestConfig.get().string("api.card.searchPath"), maxInFlight);
+        }
 
+        AdminPassesPage passes = new AdminPassesPage(driver());
+        passes.openPasses();
+        System.out.println("Opened Passes section in dashboard.");
 
-        // 6.Assert expected number of mappings
-        Assert.assertEquals(mapping.size(), emails.size(),
-                "Expected all created passes to be mapped with cardIds.");
+        if ("bulk".equalsIgnoreCase(mode) && follow) {
+            System.out.println("cardid.resolver=bulk can't index passes that don't exist yet; using ui lookups while following.");
+        } else if ("bulk".equalsIgnoreCase(mode)) {
+            // Read the whole table once, then answer every lookup from memory
+            return new IndexedCardIdResolver(passes::extractAllCardIds);
+        }
 
-        System.out.println("AdminExtractTest completed successfully.");
+        // Default: search the "View Passes" table once per email
+        return new UiCardIdResolver(passes);
     }
 }
@@ -1,32 +1,62 @@
 package com.litecard.ui.tests;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.litecard.listeners.TestListener;
+import com.litecard.utils.ArtifactCaptureService;
+import com.litecard.utils.DriverFactory;
+import config.TestConfig;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
-import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
 
+/**
+ * One browser per test method invocation, held per thread: safe under parallel="methods" / "instances"
+ * and with {@code @DataProvider(parallel = true)}, where TestNG runs @BeforeMethod, the invocation and
+ * @AfterMethod on the same thread.
+ */
 public class BaseTest {
-    protected WebDriver driver;
+    private final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
 
-    @BeforeClass
-    public void setUp() {
-        WebDriverManager.chromedriver().setup();
-        ChromeOptions opt = new ChromeOptions();
-        if (Boolean.parseBoolean(System.getProperty("headless", "false"))) opt.addArguments("--headless=new");
-        driver = new ChromeDriver(opt);
-        driver.manage().window().setSize(new Dimension(1280, 1024));
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() throws Exception {
+        skipUnlessApplicable();
+        // browser.profile=throughput switches to the lean, resource-blocking profile
+        WebDriver created = DriverFactory.createChromeDriver(TestConfig.get().headless());
+        driver.set(created);
+        created.manage().window().setSize(new Dimension(1280, 1024));
+    }
+
+    /**
+     * Runs before the browser is created: throw a SkipException here when the test does not apply to the
+     * current configuration (e.g. another signup.mode), so a skipped test never launches Chrome
+     */
+    protected void skipUnlessApplicable() throws Exception {
+    }
+
+    /** This thread's browser; only valid inside a test method (or its @BeforeMethod / @AfterMethod) */
+    protected WebDriver driver() {
+        WebDriver current = driver.get();
+        if (current == null) {
+            throw new IllegalStateException("No browser on thread " + Thread.currentThread().getName()
+                    + " - drivers are created in @BeforeMethod");
+        }
+        return current;
+    }
+
+    /** This thread's browser or null; listeners run on the test's thread, so they see the failing test's browser */
+    public WebDriver currentDriver() {
+        return driver.get();
     }
 
     @AfterMethod(alwaysRun = true)
-    public void tearDown(ITestResult result) throws InterruptedException {
-        Thread.sleep(1000); // give listener time to take screenshot
-        if (driver != null) {
-            driver.quit();
+    public void tearDown(ITestResult result) {
+        // Only this test's failure artifacts are waited for; the browser was already read when they were captured
+        ArtifactCaptureService.get().await(TestListener.artifactKey(result), TestListener.artifactTimeout());
+        WebDriver current = driver.get();
+        driver.remove();
+        if (current != null) {
+            current.quit();
         }
     }
 }
-
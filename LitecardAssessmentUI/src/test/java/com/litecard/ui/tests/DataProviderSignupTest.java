@@ -0,0 +1,98 @@
+package com.litecard.ui.tests;
+
+import com.litecard.ui.pages.SignupPage;
+import com.litecard.utils.IdentityGenerator;
+import com.litecard.utils.IdentityGenerator.Identity;
+import com.litecard.utils.PipelineJournal;
+import com.litecard.utils.PipelineJournal.Stage;
+import com.litecard.utils.Shard;
+import config.TestConfig;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * One TestNG invocation per pass, run concurrently by TestNG's data provider thread pool
+ * ({@code dataproviderthreadcount} in the pom, {@code data-provider-thread-count} in testng.xml),
+ * each with its own browser from {@link BaseTest}. Rows are generated lazily as TestNG asks for them.
+ * Enabled with {@code signup.mode=dataprovider}; writes the same emails_created.csv as {@link SignupTest}.
+ */
+public class DataProviderSignupTest extends BaseTest {
+
+    private PipelineJournal journal;
+
+    @BeforeClass(alwaysRun = true)
+    public void openJournal() throws IOException {
+        // Skipping here skips the test without starting any browser
+        if (!"dataprovider".equalsIgnoreCase(TestConfig.get().signupMode())) {
+            throw new SkipException("signup.mode is not 'dataprovider'");
+        }
+        journal = PipelineJournal.open(Paths.get(TestConfig.get().string("pipeline.journal", "target/pipeline-journal.csv")));
+    }
+
+    /** This shard's identities, skipping passes an earlier (interrupted) run already verified */
+    @DataProvider(name = "identities", parallel = true)
+    public Iterator<Object[]> identities() {
+        if (journal == null) {
+            // TestNG still asks for rows when openJournal skipped the class
+            return Collections.emptyIterator();
+        }
+        IdentityGenerator identities = IdentityGenerator.fromConfig();
+        Shard shard = Shard.fromConfig();
+        int[] passes = shard.indices(TestConfig.get().signupCount());
+        return Arrays.stream(passes)
+                .mapToObj(i -> identities.identity(shard.index(), i))
+                .filter(identity -> !journal.reached(identity.email(), Stage.WALLET_VERIFIED))
+                .map(identity -> new Object[]{identity})
+                .iterator();
+    }
+
+    @Test(dataProvider = "identities")
+    public void createPass(Identity identity) {
+        SignupPage signup = new SignupPage(driver(), SignupPage.FillMode.parse(TestConfig.get().string("signup.fill.mode", "keystroke")));
+        signup.open(TestConfig.get().string("signup.form.url"));
+
+        System.out.println("Submitting form for: " + identity.email());
+        signup.fillAndSubmit(identity.firstName(), identity.lastName(), identity.email(), identity.birthday());
+        journal.record(identity.email(), Stage.CREATED);
+
+        Assert.assertTrue(signup.walletButtonsVisible(), "Expected wallet buttons after signup for " + identity.email());
+        journal.record(identity.email(), Stage.WALLET_VERIFIED);
+    }
+
+    /** Saves every verified email (this run's and earlier ones) for admin extraction */
+    @AfterClass(alwaysRun = true)
+    public void saveEmails() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.markSignupComplete();
+            Path out = Paths.get(TestConfig.get().string("emails.file", "target/emails_created.csv"));
+            try (BufferedWriter writer = Files.newBufferedWriter(out)) {
+                writer.write("email\n");
+                for (PipelineJournal.Entry entry : journal.entries()) {
+                    if (entry.stage().compareTo(Stage.WALLET_VERIFIED) >= 0) {
+                        writer.write(entry.email() + "\n");
+                    }
+                }
+            }
+            System.out.println("Emails saved to: " + out);
+        } finally {
+            journal.close();
+            journal = null;
+        }
+    }
+}
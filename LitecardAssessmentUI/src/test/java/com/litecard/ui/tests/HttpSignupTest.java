@@ -0,0 +1,165 @@
+package com.litecard.ui.tests;
+
+import com.litecard.api.HttpSignupClient;
+import com.litecard.api.HttpSignupClient.SignupResult;
+import com.litecard.ui.pages.SignupPage;
+import com.litecard.ui.runners.ParallelSignupRunner;
+import com.litecard.ui.runners.ParallelSignupRunner.SignupRequest;
+import com.litecard.utils.CsvMappingWriter;
+import com.litecard.utils.DriverPool;
+import com.litecard.utils.IdentityGenerator;
+import com.litecard.utils.IdentityGenerator.Identity;
+import com.litecard.utils.JsonMappingWriter;
+import com.litecard.utils.MappingWriter;
+import com.litecard.utils.PipelineJournal;
+import com.litecard.utils.PipelineJournal.Stage;
+import com.litecard.utils.Shard;
+import config.TestConfig;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Seeds passes in bulk by posting the signup form's request directly ({@link HttpSignupClient}), with a
+ * small sampled fraction ({@code signup.http.ui.fraction}) still created through the browser so a broken
+ * form is noticed. Enabled with {@code signup.mode=http}; journals, maps cardIds and writes
+ * emails_created.csv like {@link SignupTest}.
+ */
+public class HttpSignupTest {
+
+    @Test
+    public void seedPassesOverHttp() throws Exception {
+        if (!"http".equalsIgnoreCase(TestConfig.get().signupMode())) {
+            throw new SkipException("signup.mode is not 'http'");
+        }
+
+        // This shard's pass numbers (all of 1..signup.count unless shard.count > 1)
+        Shard shard = Shard.fromConfig();
+        int[] passes = shard.indices(TestConfig.get().signupCount());
+        IdentityGenerator identities = IdentityGenerator.fromConfig();
+        double uiFraction = TestConfig.get().decimal("signup.http.ui.fraction", 0.01);
+        HttpSignupClient client = HttpSignupClient.fromConfig();
+        // Not while AdminExtractTest follows the journal: it owns the mapping files then
+        boolean writeMappings = !TestConfig.get().bool("pipeline.follow", false);
+
+        // Browser results arrive on the pool's threads
+        List<String> failed = Collections.synchronizedList(new ArrayList<>());
+        List<String> verified;
+        try (PipelineJournal journal = PipelineJournal.open(
+                Paths.get(TestConfig.get().string("pipeline.journal", "target/pipeline-journal.csv")));
+             MappingWriter mappings = writeMappings ? new CsvMappingWriter(
+                     Paths.get(TestConfig.get().string("output.file", "target/card_mapping.csv")), hasResolved(journal))
+                     : null) {
+            List<Identity> all = new ArrayList<>();
+            for (int i : passes) {
+                all.add(identities.identity(shard.index(), i));
+            }
+            // Chosen over the whole shard, so a rerun that skips finished passes keeps the same sample
+            Set<String> uiSample = HttpSignupClient.uiSample(all, uiFraction);
+            List<Identity> overHttp = new ArrayList<>();
+            List<SignupRequest> throughUi = new ArrayList<>();
+            for (Identity identity : all) {
+                if (journal.reached(identity.email(), Stage.WALLET_VERIFIED)) {
+                    continue;
+                }
+                if (uiSample.contains(identity.email())) {
+                    throughUi.add(new SignupRequest(identity.firstName(), identity.lastName(), identity.email(), identity.birthday()));
+                } else {
+                    overHttp.add(identity);
+                }
+            }
+            int skipped = passes.length - overHttp.size() - throughUi.size();
+            if (skipped > 0) {
+                System.out.println("Skipping " + skipped + " pass(es) already created");
+            }
+
+            if (!overHttp.isEmpty()) {
+                System.out.println("[HttpSignup] Posting " + overHttp.size() + " signup(s) to " + client.signupPath());
+                long start = System.currentTimeMillis();
+                List<SignupResult> results = client.signupAll(overHttp, TestConfig.get().apiMaxInFlight(), r -> {
+                    if (!r.succeeded()) {
+                        System.err.println("FAILED: " + r.email() + " - " + r.error());
+                        return;
+                    }
+                    journal.record(r.email(), Stage.CREATED);
+                    journal.record(r.email(), Stage.WALLET_VERIFIED);
+                    // Map email -> cardId now if the response carried it; otherwise AdminExtractTest looks it up
+                    if (mappings != null && r.cardId() != null) {
+                        try {
+                            mappings.write(r.email(), r.cardId());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        journal.record(r.email(), Stage.CARDID_RESOLVED, r.cardId());
+                    }
+                });
+                long elapsed = System.currentTimeMillis() - start;
+                results.stream().filter(r -> !r.succeeded()).forEach(r -> failed.add(r.email()));
+                System.out.printf("[HttpSignup] Created %d of %d passes over HTTP in %d ms (%.0f passes/min)%n",
+                        results.size() - failed.size(), results.size(), elapsed,
+                        (results.size() - failed.size()) * 60_000.0 / Math.max(1, elapsed));
+            }
+
+            if (!throughUi.isEmpty()) {
+                // Fidelity check: the same kind of signups, submitted by a real browser
+                System.out.println("[HttpSignup] Creating " + throughUi.size() + " sampled pass(es) through the browser");
+                int browsers = Math.min(TestConfig.get().driverPoolSize(), throughUi.size());
+                try (DriverPool pool = DriverPool.chrome(browsers, TestConfig.get().driverPoolMaxUses(), TestConfig.get().headless())) {
+                    pool.warmUp();
+                    new ParallelSignupRunner(pool, TestConfig.get().string("signup.form.url"),
+                            SignupPage.FillMode.parse(TestConfig.get().string("signup.fill.mode", "keystroke")))
+                            .run(throughUi, r -> {
+                                if (r.error() == null) journal.record(r.email(), Stage.CREATED);
+                                if (r.succeeded()) {
+                                    journal.record(r.email(), Stage.WALLET_VERIFIED);
+                                } else {
+                                    failed.add(r.email());
+                                }
+                                System.out.println((r.succeeded() ? "Created pass (UI sample) for: " : "FAILED (UI sample): ")
+                                        + r.email() + " (" + r.elapsedMillis() + " ms)");
+                            });
+                }
+            }
+            journal.markSignupComplete();
+
+            if (mappings != null && journal.entries().stream().anyMatch(e -> e.cardId() != null)) {
+                // Same JSON report AdminExtractTest writes, from everything resolved so far
+                try (MappingWriter json = new JsonMappingWriter(Paths.get(TestConfig.get().string("output.json")))) {
+                    for (PipelineJournal.Entry entry : journal.entries()) {
+                        if (entry.cardId() != null) json.write(entry.email(), entry.cardId());
+                    }
+                }
+            }
+            verified = journal.entries().stream()
+                    .filter(e -> e.stage().compareTo(Stage.WALLET_VERIFIED) >= 0)
+                    .map(PipelineJournal.Entry::email)
+                    .toList();
+        }
+
+        // Save created emails for admin extraction (only passes without a cardId need it)
+        Path out = Paths.get(TestConfig.get().string("emails.file", "target/emails_created.csv"));
+        try (BufferedWriter writer = Files.newBufferedWriter(out)) {
+            writer.write("email\n");
+            for (String email : verified) {
+                writer.write(email + "\n");
+            }
+        }
+
+        Assert.assertTrue(failed.isEmpty(), "Signup failed for " + failed);
+    }
+
+    private static boolean hasResolved(PipelineJournal journal) {
+        return journal.entries().stream().anyMatch(e -> e.stage().compareTo(Stage.CARDID_RESOLVED) >= 0);
+    }
+}
@@ -0,0 +1,121 @@
+package com.litecard.ui.tests;
+
+import com.litecard.ui.pages.SignupPage;
+import com.litecard.ui.runners.MultiTabSignupRunner;
+import com.litecard.ui.runners.ParallelSignupRunner;
+import com.litecard.ui.runners.ParallelSignupRunner.SignupRequest;
+import com.litecard.ui.runners.ParallelSignupRunner.SignupResult;
+import com.litecard.utils.DriverFactory;
+import com.litecard.utils.DriverPool;
+import com.litecard.utils.IdentityGenerator;
+import com.litecard.utils.IdentityGenerator.Identity;
+import com.litecard.utils.PipelineJournal;
+import com.litecard.utils.PipelineJournal.Stage;
+import com.litecard.utils.Shard;
+import config.TestConfig;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Creates passes concurrently on a pool of warm browsers.
+ * Enabled with {@code signup.mode=parallel}; writes the same emails_created.csv as {@link SignupTest}.
+ */
+public class ParallelSignupTest {
+
+    @Test
+    public void createPassesInParallel() throws Exception {
+        if (!"parallel".equalsIgnoreCase(TestConfig.get().signupMode())) {
+            throw new SkipException("signup.mode is not 'parallel'");
+        }
+
+        String formUrl = TestConfig.get().string("signup.form.url");
+        // This shard's pass numbers (all of 1..signup.count unless shard.count > 1)
+        Shard shard = Shard.fromConfig();
+        int[] passes = shard.indices(TestConfig.get().signupCount());
+        int count = passes.length;
+        int poolSize = TestConfig.get().driverPoolSize();
+        int maxUses = TestConfig.get().driverPoolMaxUses();
+        boolean headless = TestConfig.get().headless();
+        IdentityGenerator identities = IdentityGenerator.fromConfig();
+
+        List<SignupResult> results = new ArrayList<>();
+        List<String> verified;
+        try (PipelineJournal journal = PipelineJournal.open(
+                Paths.get(TestConfig.get().string("pipeline.journal", "target/pipeline-journal.csv")))) {
+            // Passes verified by an earlier (interrupted) run are not submitted again
+            List<SignupRequest> requests = new ArrayList<>();
+            for (int i : passes) {
+                Identity identity = identities.identity(shard.index(), i);
+                String email = identity.email();
+                if (!journal.reached(email, Stage.WALLET_VERIFIED)) {
+                    requests.add(new SignupRequest(identity.firstName(), identity.lastName(), email, identity.birthday()));
+                }
+            }
+            if (requests.size() < count) {
+                System.out.println("Skipping " + (count - requests.size()) + " pass(es) already created");
+            }
+
+            if (!requests.isEmpty()) {
+                // driver.tabs.per.browser > 1: several signups share each browser, one per tab
+                int tabs = TestConfig.get().driverTabsPerBrowser();
+                int browsers = Math.min(poolSize, (requests.size() + tabs - 1) / tabs);
+                Consumer<SignupResult> onResult = r -> {
+                    if (r.error() == null) journal.record(r.email(), Stage.CREATED);
+                    if (r.succeeded()) journal.record(r.email(), Stage.WALLET_VERIFIED);
+                    System.out.println((r.succeeded() ? "Created pass for: " : "FAILED: ") + r.email()
+                            + " (" + r.elapsedMillis() + " ms)");
+                };
+                long start = System.currentTimeMillis();
+                if (tabs > 1) {
+                    try (DriverPool pool = new DriverPool(browsers, maxUses, () -> DriverFactory.createChromeDriver(
+                            headless, DriverFactory.Profile.fromConfig(), MultiTabSignupRunner::configure))) {
+                        pool.warmUp();
+                        Duration timeout = TestConfig.get().signupTimeout();
+                        results = new MultiTabSignupRunner(pool, tabs, formUrl, timeout).run(requests, onResult);
+                    }
+                } else {
+                    try (DriverPool pool = DriverPool.chrome(browsers, maxUses, headless)) {
+                        pool.warmUp();
+                        results = new ParallelSignupRunner(pool, formUrl,
+                                SignupPage.FillMode.parse(TestConfig.get().string("signup.fill.mode", "keystroke"))).run(requests, onResult);
+                    }
+                }
+                long elapsed = System.currentTimeMillis() - start;
+                System.out.printf("Submitted %d passes on %d browsers x %d tab(s) in %d ms (%.2f passes/s)%n",
+                        requests.size(), browsers, tabs, elapsed, requests.size() * 1000.0 / Math.max(1, elapsed));
+            }
+            journal.markSignupComplete();
+
+            verified = journal.entries().stream()
+                    .filter(e -> e.stage().compareTo(Stage.WALLET_VERIFIED) >= 0)
+                    .map(PipelineJournal.Entry::email)
+                    .collect(Collectors.toList());
+        }
+
+        // Save created emails for admin extraction
+        Path out = Paths.get(TestConfig.get().string("emails.file", "target/emails_created.csv"));
+        try (BufferedWriter writer = Files.newBufferedWriter(out)) {
+            writer.write("email\n");
+            for (String email : verified) {
+                writer.write(email + "\n");
+            }
+        }
+
+        List<String> failed = results.stream()
+                .filter(r -> !r.succeeded())
+                .map(SignupResult::email)
+                .collect(Collectors.toList());
+        Assert.assertTrue(failed.isEmpty(), "Expected wallet buttons after signup for " + failed);
+    }
+}
@@ -0,0 +1,228 @@
+package com.litecard.ui.tests;
+
+import com.litecard.api.BffApiClient;
+import com.litecard.api.BrowserTokenExtractor;
+import com.litecard.resolvers.CardIdResolver;
+import com.litecard.resolvers.HttpCardIdResolver;
+import com.litecard.resolvers.UiCardIdResolver;
+import com.litecard.ui.pages.AdminLoginPage;
+import com.litecard.ui.pages.AdminPassesPage;
+import com.litecard.ui.pages.SignupPage;
+import com.litecard.ui.runners.ParallelSignupRunner;
+import com.litecard.ui.runners.ParallelSignupRunner.SignupRequest;
+import com.litecard.ui.runners.SignupExtractPipeline;
+import com.litecard.ui.runners.SignupExtractPipeline.PipelineResult;
+import com.litecard.utils.CsvMappingWriter;
+import com.litecard.utils.DriverPool;
+import com.litecard.utils.DriverPool.PooledDriver;
+import com.litecard.utils.IdentityGenerator;
+import com.litecard.utils.IdentityGenerator.Identity;
+import com.litecard.utils.JsonMappingWriter;
+import com.litecard.utils.MappingWriter;
+import com.litecard.utils.PipelineJournal;
+import com.litecard.utils.PipelineJournal.Stage;
+import com.litecard.utils.SessionCache;
+import com.litecard.utils.Shard;
+import config.TestConfig;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Signup and cardId extraction in one run: signup workers hand each verified email
+ * to extraction workers over a bounded queue, so the batch takes roughly
+ * max(signup, extract) instead of signup + extract.
+ * Enabled with {@code signup.mode=pipeline}; writes the same files as SignupTest + AdminExtractTest.
+ */
+public class PipelineTest {
+
+    @Test
+    public void signupAndExtractPipelined() throws Exception {
+        if (!"pipeline".equalsIgnoreCase(TestConfig.get().signupMode())) {
+            throw new SkipException("signup.mode is not 'pipeline'");
+        }
+
+        String formUrl = TestConfig.get().string("signup.form.url");
+        // This shard's pass numbers (all of 1..signup.count unless shard.count > 1)
+        Shard shard = Shard.fromConfig();
+        int[] passes = shard.indices(TestConfig.get().signupCount());
+        int count = passes.length;
+        int signupWorkers = TestConfig.get().driverPoolSize();
+        int maxUses = TestConfig.get().driverPoolMaxUses();
+        int extractWorkers = TestConfig.get().pipelineExtractWorkers();
+        int queueCapacity = TestConfig.get().pipelineQueueCapacity();
+        boolean headless = TestConfig.get().headless();
+        IdentityGenerator identities = IdentityGenerator.fromConfig();
+
+        Path journalFile = Paths.get(TestConfig.get().string("pipeline.journal", "target/pipeline-journal.csv"));
+        String outputPath = TestConfig.get().string("output.file", "target/card_mapping.csv");
+
+        try (PipelineJournal journal = PipelineJournal.open(journalFile);
+             DriverPool signupPool = DriverPool.chrome(signupWorkers, maxUses, headless);
+             DriverPool adminPool = DriverPool.chrome(extractWorkers, 0, headless)) {
+
+            // Resume: skip passes already created, and queue verified-but-unresolved ones straight for extraction
+            List<SignupRequest> requests = new ArrayList<>();
+            List<String> backlog = new ArrayList<>();
+            for (int i : passes) {
+                Identity identity = identities.identity(shard.index(), i);
+                String email = identity.email();
+                if (!journal.reached(email, Stage.WALLET_VERIFIED)) {
+                    requests.add(new SignupRequest(identity.firstName(), identity.lastName(), email, identity.birthday()));
+                } else if (!journal.reached(email, Stage.CARDID_RESOLVED)) {
+                    backlog.add(email);
+                }
+            }
+            int alreadyResolved = count - requests.size() - backlog.size();
+            System.out.println("Pipeline: " + requests.size() + " to sign up, " + backlog.size()
+                    + " awaiting cardId, " + alreadyResolved + " already done");
+
+            signupPool.warmUp();
+            SignupExtractPipeline pipeline = new SignupExtractPipeline(
+                    new ParallelSignupRunner(signupPool, formUrl, SignupPage.FillMode.parse(TestConfig.get().string("signup.fill.mode", "keystroke"))), signupWorkers,
+                    resolverFactory(adminPool), extractWorkers, queueCapacity);
+
+            PipelineResult result;
+            try (MappingWriter writer = new CsvMappingWriter(Paths.get(outputPath), alreadyResolved > 0)) {
+                result = pipeline.run(requests, backlog,
+                        r -> {
+                            if (r.error() == null) journal.record(r.email(), Stage.CREATED);
+                            if (r.succeeded()) journal.record(r.email(), Stage.WALLET_VERIFIED);
+                            System.out.println((r.succeeded() ? "Created pass for: " : "FAILED: ") + r.email()
+                                    + " (" + r.elapsedMillis() + " ms)");
+                        },
+                        (email, cardId) -> {
+                            if (cardId.isEmpty()) {
+                                System.out.println("NOT FOUND: " + email);
+                                return;
+                            }
+                            try {
+                                writer.write(email, cardId.get());
+                            } catch (IOException e) {
+                                throw new UncheckedIOException("Failed to write mapping for " + email, e);
+                            }
+                            journal.record(email, Stage.CARDID_RESOLVED, cardId.get());
+                        });
+            }
+            journal.markSignupComplete();
+
+            System.out.printf("Pipeline finished in %d ms: signup done at %d ms, extraction tail %d ms, "
+                            + "signup workers blocked on a full queue for %d ms%n",
+                    result.totalMillis(), result.signupMillis(), result.extractTailMillis(), result.producerBlockedMillis());
+
+            // Same hand-off files as the sequential flow
+            try (BufferedWriter out = Files.newBufferedWriter(Paths.get(TestConfig.get().string("emails.file", "target/emails_created.csv")))) {
+                out.write("email\n");
+                for (PipelineJournal.Entry entry : journal.entries()) {
+                    if (entry.stage().compareTo(Stage.WALLET_VERIFIED) >= 0) out.write(entry.email() + "\n");
+                }
+            }
+            try (MappingWriter json = new JsonMappingWriter(Paths.get(TestConfig.get().string("output.json")))) {
+                for (PipelineJournal.Entry entry : journal.entries()) {
+                    if (entry.cardId() != null) json.write(entry.email(), entry.cardId());
+                }
+            }
+
+            List<String> failedSignups = result.signups().stream()
+                    .filter(r -> !r.succeeded())
+                    .map(ParallelSignupRunner.SignupResult::email)
+                    .collect(Collectors.toList());
+            List<String> unresolved = result.cardIds().entrySet().stream()
+                    .filter(e -> e.getValue().isEmpty())
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            Assert.assertTrue(failedSignups.isEmpty(), "Expected wallet buttons after signup for " + failedSignups);
+            Assert.assertTrue(unresolved.isEmpty(), "Expected all created passes to be mapped with cardIds: " + unresolved);
+        }
+    }
+
+    /**
+     * http: one admin login supplies the bearer token and all workers share the (thread-safe) API resolver.
+     * ui / bulk: every worker logs into its own admin browser and searches the passes table; a bulk index
+     * would be stale in a pipeline, since the passes are still being created.
+     */
+    private static Supplier<CardIdResolver> resolverFactory(DriverPool adminPool) throws InterruptedException {
+        String mode = TestConfig.get().string("cardid.resolver", "ui");
+        if ("http".equalsIgnoreCase(mode)) {
+            PooledDriver session = adminPool.borrow(Duration.ofMinutes(5));
+            try {
+                login(session);
+                BffApiClient api = BffApiClient.fromConfig(BrowserTokenExtractor.extract(session.driver()));
+                int maxInFlight = TestConfig.get().apiMaxInFlight();
+                CardIdResolver shared = new HttpCardIdResolver(api, TestConfig.get().string("api.card.searchPath"), maxInFlight);
+                return () -> shared;
+            } finally {
+                adminPool.release(session);
+            }
+        }
+        if ("bulk".equalsIgnoreCase(mode)) {
+            System.out.println("cardid.resolver=bulk can't index passes that don't exist yet; using ui lookups in the pipeline.");
+        }
+        return () -> new AdminSessionResolver(adminPool);
+    }
+
+    private static void login(PooledDriver session) throws InterruptedException {
+        new AdminLoginPage(session.driver()).loginWithSessionCache(
+                TestConfig.get().string("base.url"),
+                TestConfig.get().string("admin.username"),
+                TestConfig.get().string("admin.password"),
+                new SessionCache(
+                        Paths.get(TestConfig.get().string("session.cache.file", "target/session/admin-session.json")),
+                        TestConfig.get().sessionTtl()));
+    }
+
+    /** UI lookups on an admin browser held by one extraction worker for its whole life */
+    private static final class AdminSessionResolver implements CardIdResolver, AutoCloseable {
+
+        private final DriverPool pool;
+        private final PooledDriver session;
+        private final UiCardIdResolver delegate;
+
+        AdminSessionResolver(DriverPool pool) {
+            this.pool = pool;
+            try {
+                this.session = pool.borrow(Duration.ofMinutes(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for an admin browser", e);
+            }
+            try {
+                login(session);
+                AdminPassesPage passes = new AdminPassesPage(session.driver());
+                passes.openPasses();
+                this.delegate = new UiCardIdResolver(passes);
+            } catch (InterruptedException e) {
+                pool.invalidate(session);
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while logging into the dashboard", e);
+            } catch (RuntimeException e) {
+                pool.invalidate(session);
+                throw e;
+            }
+        }
+
+        @Override
+        public Optional<String> resolve(String email) {
+            return delegate.resolve(email);
+        }
+
+        @Override
+        public void close() {
+            pool.release(session);
+        }
+    }
+}
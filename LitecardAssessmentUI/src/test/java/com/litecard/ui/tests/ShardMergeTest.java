@@ -0,0 +1,42 @@
+package com.litecard.ui.tests;
+
+import com.litecard.utils.Shard;
+import com.litecard.utils.ShardReportMerger;
+import config.TestConfig;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Merges the email_to_cardId reports of every shard (shard.dir/shard-N) into output.file and
+ * output.json, deduplicated and sorted by email. Run once after all shards have finished and
+ * their folders have been collected, with {@code -Dshard.merge=true}.
+ */
+public class ShardMergeTest {
+
+    @Test
+    public void mergeShardReports() throws Exception {
+        if (!TestConfig.get().bool("shard.merge", false)) {
+            throw new SkipException("shard.merge is not enabled");
+        }
+        if (Shard.fromConfig().isSharded()) {
+            throw new SkipException("Merge runs on its own, not as one of the shards");
+        }
+
+        Path csvOut = Paths.get(TestConfig.get().string("output.file", "target/email_to_cardId.csv"));
+        Path jsonOut = Paths.get(TestConfig.get().string("output.json", "target/email_to_cardId.json"));
+        List<Path> shardReports = ShardReportMerger.shardFiles(Shard.shardsRoot(), csvOut.getFileName().toString());
+        Assert.assertFalse(shardReports.isEmpty(), "No shard reports found under " + Shard.shardsRoot());
+
+        ShardReportMerger merger = new ShardReportMerger();
+        merger.addAll(shardReports);
+        merger.write(csvOut, jsonOut);
+
+        Assert.assertTrue(merger.size() > 0, "Shard reports held no mappings");
+        Assert.assertEquals(merger.conflicts(), 0, "Shards reported different cardIds for the same email");
+    }
+}
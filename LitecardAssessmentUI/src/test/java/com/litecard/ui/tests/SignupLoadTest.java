@@ -0,0 +1,79 @@
+package com.litecard.ui.tests;
+
+import com.litecard.api.HttpSignupClient;
+import com.litecard.metrics.LoadReport;
+import com.litecard.ui.pages.SignupPage;
+import com.litecard.ui.runners.SignupLoadGenerator;
+import com.litecard.utils.DriverPool;
+import com.litecard.utils.IdentityGenerator;
+import config.ConfigSnapshot;
+import config.TestConfig;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Holds a sustained signup load on the form and reports submit -> wallet latency against the SLO.
+ * Enabled with {@code load.enabled=true}; see the load.* settings in test.properties.
+ * With {@code load.driver=http} the signups are posted directly ({@link HttpSignupClient}) and only
+ * {@code signup.http.ui.fraction} of them go through a browser. Those posts bypass the bff-api rate
+ * limiter and retries ({@link HttpSignupClient#forLoad()}): a 429 or 503 counts as a failed signup.
+ * Every run uses fresh identities (the run ID plus a load suffix), so it never touches the journal.
+ */
+public class SignupLoadTest {
+
+    @Test
+    public void holdSignupLoad() {
+        ConfigSnapshot config = TestConfig.get();
+        if (!config.bool("load.enabled", false)) {
+            throw new SkipException("load.enabled is not true");
+        }
+
+        String model = config.loadModel().toLowerCase(Locale.ROOT);
+        if (!model.equals("open") && !model.equals("closed")) {
+            throw new IllegalArgumentException("load.model must be open or closed: " + config.loadModel());
+        }
+        // load.driver=http posts the signup directly, with signup.http.ui.fraction of it still through browsers
+        boolean http = config.string("load.driver", "ui").equalsIgnoreCase("http");
+        double uiFraction = http ? config.decimal("signup.http.ui.fraction", 0.01) : 1;
+        int workers = model.equals("open")
+                ? (http ? config.apiMaxInFlight() : config.driverPoolSize())
+                : config.loadUsers();
+        int browsers = Math.max(1, (int) Math.ceil(workers * uiFraction));
+        IdentityGenerator identities = IdentityGenerator.fromConfig()
+                .forRun("load-" + Long.toString(System.currentTimeMillis(), 36));
+        LoadReport.Slo slo = new LoadReport.Slo(config.loadSloP95(), config.loadSloP99(), config.loadSloErrorRate());
+
+        LoadReport report;
+        try (DriverPool pool = DriverPool.chrome(browsers, config.driverPoolMaxUses(), config.headless())) {
+            if (uiFraction > 0) {
+                // Browsers are only started when something is sent through them
+                pool.warmUp();
+            }
+            SignupLoadGenerator.Submitter submitter = SignupLoadGenerator.browser(pool, config.string("signup.form.url"),
+                    SignupPage.FillMode.parse(config.string("signup.fill.mode", "keystroke")));
+            if (http) {
+                submitter = SignupLoadGenerator.sampled(submitter, SignupLoadGenerator.http(HttpSignupClient.forLoad()), uiFraction);
+            }
+            SignupLoadGenerator load = new SignupLoadGenerator(submitter, identities);
+            if (model.equals("open")) {
+                // The rate is read from the live configuration, so a config.watch reload re-paces the soak
+                report = load.open(() -> TestConfig.get().loadRate(), workers, config.loadDuration(), config.loadDrain());
+            } else {
+                report = load.closed(workers, config.loadPacing(), config.loadDuration());
+            }
+        }
+
+        System.out.println(report.summary(slo));
+        report.write(Paths.get(config.string("load.report.dir", "target/load"), identities.runId()), slo);
+
+        List<String> breaches = report.breaches(slo);
+        if (config.bool("load.slo.enforce", false)) {
+            Assert.assertTrue(breaches.isEmpty(), "Signup SLO breached: " + breaches);
+        }
+    }
+}
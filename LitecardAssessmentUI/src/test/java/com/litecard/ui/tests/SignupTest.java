@@ -1,51 +1,124 @@
 package com.litecard.ui.tests;
 
 import com.litecard.ui.pages.SignupPage;
-import com.litecard.utils.EmailGenerator;
+import com.litecard.utils.CsvMappingWriter;
+import com.litecard.utils.IdentityGenerator;
+import com.litecard.utils.IdentityGenerator.Identity;
+import com.litecard.utils.JsonMappingWriter;
+import com.litecard.utils.MappingWriter;
+import com.litecard.utils.PipelineJournal;
+import com.litecard.utils.PipelineJournal.Stage;
+import com.litecard.utils.SignupResponseCapture;
+import com.litecard.utils.Shard;
 import config.TestConfig;
 import org.apache.commons.lang3.tuple.Pair;
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
 import java.io.BufferedWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 public class SignupTest extends BaseTest {
 
+    @Override
+    protected void skipUnlessApplicable() {
+        String mode = TestConfig.get().signupMode();
+        if ("parallel".equalsIgnoreCase(mode)) {
+            throw new SkipException("signup.mode is 'parallel' - see ParallelSignupTest");
+        }
+        if ("pipeline".equalsIgnoreCase(mode)) {
+            throw new SkipException("signup.mode is 'pipeline' - see PipelineTest");
+        }
+        if ("dataprovider".equalsIgnoreCase(mode)) {
+            throw new SkipException("signup.mode is 'dataprovider' - see DataProviderSignupTest");
+        }
+        if ("http".equalsIgnoreCase(mode)) {
+            throw new SkipException("signup.mode is 'http' - see HttpSignupTest");
+        }
+    }
+
     @Test
     public void createMultiplePasses() throws Exception {
-        SignupPage signup = new SignupPage(driver);
-        String formUrl = TestConfig.props.getProperty("signup.form.url");
+        SignupPage signup = new SignupPage(driver(), SignupPage.FillMode.parse(TestConfig.get().string("signup.fill.mode", "keystroke")));
+        String formUrl = TestConfig.get().string("signup.form.url");
+        // This shard's pass numbers (all of 1..signup.count unless shard.count > 1)
+        Shard shard = Shard.fromConfig();
+        int[] passes = shard.indices(TestConfig.get().signupCount());
 
         List<Pair<String, String>> emailToCard = new ArrayList<>();
-        String lastName = "Sulakkana"; // change if needed
+        // A rerun pinned to the same identity.run.id regenerates these identities and finds its journal entries
+        IdentityGenerator identities = IdentityGenerator.fromConfig();
+
+        // Read each cardId straight out of the signup API response (Chrome DevTools), when enabled.
+        // Not while AdminExtractTest follows the journal: it owns the mapping files then.
+        boolean captureEnabled = TestConfig.get().bool("signup.capture.enabled", true)
+                && !TestConfig.get().bool("pipeline.follow", false);
+        SignupResponseCapture capture = captureEnabled
+                ? SignupResponseCapture.of(driver(), TestConfig.get().string("signup.capture.url.pattern", ".+/signup([/?].*)?"))
+                : null;
+        Duration captureTimeout = TestConfig.get().signupCaptureTimeout();
+        int captured = 0;
 
-        for (int i = 1; i <= 10; i++) {
-            String email = EmailGenerator.generate(lastName, i);
-            signup.open(formUrl);
+        // Every state change is journaled, so a resumed run (same identity.run.id) skips passes already verified
+        try (PipelineJournal journal = PipelineJournal.open(
+                Paths.get(TestConfig.get().string("pipeline.journal", "target/pipeline-journal.csv")));
+             MappingWriter mappings = capture == null ? null : new CsvMappingWriter(
+                     Paths.get(TestConfig.get().string("output.file", "target/card_mapping.csv")), hasResolved(journal))) {
+            for (int i : passes) {
+                Identity identity = identities.identity(shard.index(), i);
+                String email = identity.email();
+                if (journal.reached(email, Stage.WALLET_VERIFIED)) {
+                    System.out.println("Already created, skipping: " + email);
+                    emailToCard.add(Pair.of(email, ""));
+                    continue;
+                }
+                signup.open(formUrl);
 
-            System.out.println("Submitting form for: " + email);
+                System.out.println("Submitting form for: " + email);
+                if (capture != null) capture.reset();
 
-            // Fill and submit required fields (birthday format yyyy-MM-dd)
-            signup.fillAndSubmit("QA" + i, lastName, email, "30/01/1998");
+                // Fill and submit required fields (birthday format dd/MM/yyyy)
+                signup.fillAndSubmit(identity.firstName(), identity.lastName(), email, identity.birthday());
+                journal.record(email, Stage.CREATED);
 
-            // Verify wallet buttons appear
-            boolean walletVisible = signup.walletButtonsVisible();
-            Assert.assertTrue(walletVisible, "Expected wallet buttons after signup for " + email);
+                // Verify wallet buttons appear
+                boolean walletVisible = signup.walletButtonsVisible();
+                Assert.assertTrue(walletVisible, "Expected wallet buttons after signup for " + email);
+                journal.record(email, Stage.WALLET_VERIFIED);
 
-            // Store created email
-            emailToCard.add(Pair.of(email, ""));
+                // Map email -> cardId now if the signup response carried it; otherwise AdminExtractTest looks it up
+                Optional<String> cardId = capture == null ? Optional.empty() : capture.awaitCardId(email, captureTimeout);
+                if (cardId.isPresent()) {
+                    mappings.write(email, cardId.get());
+                    journal.record(email, Stage.CARDID_RESOLVED, cardId.get());
+                    captured++;
+                    System.out.println("Captured cardId " + cardId.get() + " for " + email);
+                }
 
-            // Wait before next iteration
-            Thread.sleep(1500);
+                // Store created email
+                emailToCard.add(Pair.of(email, cardId.orElse("")));
+            }
+            journal.markSignupComplete();
+
+            if (captured > 0) {
+                // Same JSON report AdminExtractTest writes, from everything resolved so far
+                try (MappingWriter json = new JsonMappingWriter(Paths.get(TestConfig.get().string("output.json")))) {
+                    for (PipelineJournal.Entry entry : journal.entries()) {
+                        if (entry.cardId() != null) json.write(entry.email(), entry.cardId());
+                    }
+                }
+            }
         }
 
         // Save all emails for admin extraction
-        Path out = Paths.get("target/emails_created.csv");
+        Path out = Paths.get(TestConfig.get().string("emails.file", "target/emails_created.csv"));
         try (BufferedWriter writer = Files.newBufferedWriter(out)) {
             writer.write("email\n");
             for (Pair<String, String> pair : emailToCard) {
@@ -54,5 +127,12 @@ public class SignupTest extends BaseTest {
         }
 
         System.out.println("Created " + emailToCard.size() + " passes. Emails saved to: " + out);
+        if (capture != null) {
+            System.out.println("Captured " + captured + " cardId(s) from signup responses.");
+        }
+    }
+
+    private static boolean hasResolved(PipelineJournal journal) {
+        return journal.entries().stream().anyMatch(e -> e.stage().compareTo(Stage.CARDID_RESOLVED) >= 0);
     }
 }
@@ -0,0 +1,216 @@
+package com.litecard.utils;
+
+import com.litecard.metrics.Metrics;
+import config.TestConfig;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Failure artifacts (screenshot, DOM, browser console) without blocking the test thread on disk I/O.
+ *
+ * {@link #capture} only talks to the browser: it reads the screenshot as PNG bytes, the page source and
+ * the console log while the session is still alive. Compressing and writing them happens on a small
+ * writer pool behind a bounded queue; when the queue is full the capturing thread writes its own
+ * artifacts, so hundreds of simultaneous failures cost disk bandwidth, not unbounded memory.
+ * Captures are grouped under a key (one per test) so teardown can wait for exactly its own.
+ *
+ * Usage Example:
+ *   ArtifactCaptureService.get().capture(key, driver, "SignupTest_testSignup");
+ *   ArtifactCaptureService.get().await(key, Duration.ofSeconds(30));
+ */
+public class ArtifactCaptureService {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+    private static volatile ArtifactCaptureService instance;
+
+    private final Path root;
+    private final ThreadPoolExecutor writers;
+    private final Map<String, Queue<CompletableFuture<Path>>> pending = new ConcurrentHashMap<>();
+
+    public ArtifactCaptureService(Path root, int writerThreads, int queueCapacity) {
+        this.root = root;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(writerThreads, writerThreads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "artifact-writer-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.writers.allowCoreThreadTimeOut(true);
+    }
+
+    /** The shared service, configured by {@code artifacts.dir}, {@code artifacts.writer.threads} and {@code artifacts.queue.capacity} */
+    public static ArtifactCaptureService get() {
+        if (instance == null) {
+            synchronized (ArtifactCaptureService.class) {
+                if (instance == null) {
+                    instance = new ArtifactCaptureService(
+                            Paths.get(TestConfig.get().string("artifacts.dir", "target/artifacts")),
+                            TestConfig.get().artifactsWriterThreads(),
+                            TestConfig.get().artifactsQueueCapacity());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Grabs the artifacts of {@code driver} now and writes them to {@code <artifacts.dir>/<name>_<timestamp>/}
+     * in the background. The future completes with that folder; a failed grab or write is logged, not thrown.
+     */
+    public CompletableFuture<Path> capture(String key, WebDriver driver, String name) {
+        long start = System.nanoTime();
+        Snapshot snapshot = grab(driver);
+        Metrics.timer("artifacts.grab").record(start, System.nanoTime(), snapshot.problems.isEmpty());
+
+        Path dir = root.resolve(safe(name) + "_" + LocalDateTime.now().format(TIMESTAMP));
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        pending.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).add(future);
+        writers.execute(() -> {
+            try {
+                Metrics.timer("artifacts.write").run(() -> write(dir, snapshot));
+                System.out.println("[Artifacts] Saved " + dir);
+                future.complete(dir);
+            } catch (RuntimeException e) {
+                System.err.println("[Artifacts] Failed to save " + dir + ": " + e.getMessage());
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /** Waits until every capture made under {@code key} is on disk (or failed); false if {@code timeout} ran out first */
+    public boolean await(String key, Duration timeout) {
+        Queue<CompletableFuture<Path>> futures = pending.remove(key);
+        if (futures == null) {
+            return true;
+        }
+        return awaitAll(futures, System.nanoTime() + timeout.toNanos());
+    }
+
+    /** Waits for the captures of every key, e.g. before the JVM exits */
+    public boolean awaitAll(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        boolean done = true;
+        for (String key : new ArrayList<>(pending.keySet())) {
+            Queue<CompletableFuture<Path>> futures = pending.remove(key);
+            if (futures != null) {
+                done &= awaitAll(futures, deadline);
+            }
+        }
+        return done;
+    }
+
+    private static boolean awaitAll(Queue<CompletableFuture<Path>> futures, long deadlineNanos) {
+        for (CompletableFuture<Path> future : futures) {
+            try {
+                future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (TimeoutException e) {
+                System.err.println("[Artifacts] Gave up waiting for " + futures.size() + " capture(s)");
+                return false;
+            } catch (ExecutionException e) {
+                // Already logged by the writer
+            }
+        }
+        return true;
+    }
+
+    /** Everything read from the browser; each part is null when the browser could not provide it */
+    private record Snapshot(byte[] screenshot, String dom, List<LogEntry> console, List<String> problems) { }
+
+    private static Snapshot grab(WebDriver driver) {
+        List<String> problems = new ArrayList<>();
+        byte[] screenshot = null;
+        String dom = null;
+        List<LogEntry> console = null;
+        try {
+            screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (WebDriverException | ClassCastException e) {
+            problems.add("screenshot: " + e.getMessage());
+        }
+        try {
+            dom = driver.getPageSource();
+        } catch (WebDriverException e) {
+            problems.add("DOM: " + e.getMessage());
+        }
+        try {
+            // Needs the browser log level set on the session (DriverFactory does); some remote drivers refuse
+            console = driver.manage().logs().get(LogType.BROWSER).getAll();
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            problems.add("console: " + e.getMessage());
+        }
+        return new Snapshot(screenshot, dom, console, problems);
+    }
+
+    private static void write(Path dir, Snapshot snapshot) {
+        try {
+            Files.createDirectories(dir);
+            if (snapshot.screenshot != null) {
+                // PNG is already compressed
+                Files.write(dir.resolve("screenshot.png"), snapshot.screenshot);
+            }
+            if (snapshot.dom != null) {
+                writeGzip(dir.resolve("dom.html.gz"), snapshot.dom);
+            }
+            if (snapshot.console != null) {
+                StringBuilder log = new StringBuilder();
+                for (LogEntry entry : snapshot.console) {
+                    log.append(Instant.ofEpochMilli(entry.getTimestamp())).append(' ')
+                            .append(entry.getLevel()).append(' ')
+                            .append(entry.getMessage()).append('\n');
+                }
+                writeGzip(dir.resolve("console.log.gz"), log.toString());
+            }
+            if (!snapshot.problems.isEmpty()) {
+                Files.write(dir.resolve("capture-errors.txt"), snapshot.problems, StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeGzip(Path file, String text) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String safe(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
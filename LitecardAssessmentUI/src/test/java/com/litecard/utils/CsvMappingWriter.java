@@ -0,0 +1,48 @@
+package com.litecard.utils;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends email,cardId rows to a CSV file, flushing after every row.
+ * The header is only written when the file is new or empty, so a rerun can keep appending.
+ */
+public class CsvMappingWriter implements MappingWriter {
+
+    private final Path outputFile;
+    private final CSVPrinter printer;
+    private long rows;
+
+    public CsvMappingWriter(Path outputFile, boolean append) throws IOException {
+        this.outputFile = outputFile;
+        if (outputFile.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(outputFile.toAbsolutePath().getParent());
+        }
+        boolean writeHeader = !append || !Files.exists(outputFile) || Files.size(outputFile) == 0;
+        CSVFormat format = writeHeader
+                ? CSVFormat.DEFAULT.builder().setHeader("email", "cardId").build()
+                : CSVFormat.DEFAULT;
+        this.printer = new CSVPrinter(Files.newBufferedWriter(outputFile,
+                StandardOpenOption.CREATE,
+                append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE), format);
+    }
+
+    @Override
+    public synchronized void write(String email, String cardId) throws IOException {
+        printer.printRecord(email, cardId);
+        printer.flush();
+        rows++;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        printer.close(true);
+        System.out.println("CSV report written to: " + outputFile.toAbsolutePath() + " (" + rows + " rows)");
+    }
+}
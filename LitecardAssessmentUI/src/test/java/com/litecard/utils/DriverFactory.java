@@ -1,13 +1,109 @@
 package com.litecard.utils;
 
+import com.litecard.metrics.Metrics;
+import config.TestConfig;
 import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Connection;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.SeleniumCdpConnection;
+import org.openqa.selenium.devtools.v116.v116Domains;
+import org.openqa.selenium.devtools.v116.fetch.Fetch;
+import org.openqa.selenium.devtools.v116.fetch.model.RequestPattern;
+import org.openqa.selenium.devtools.v116.fetch.model.RequestStage;
+import org.openqa.selenium.devtools.v116.network.Network;
+import org.openqa.selenium.devtools.v116.network.model.ErrorReason;
+import org.openqa.selenium.devtools.v116.network.model.ResourceType;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
 
 public class DriverFactory {
+
+    /**
+     * DEFAULT is a near-stock Chrome. THROUGHPUT is a lean browser for bulk runs: third-party and
+     * analytics hosts and fonts blocked over CDP, images optionally suppressed except the wallet
+     * artwork, extensions and background networking off, the eager page load strategy and a warm
+     * disk cache that survives browser restarts.
+     */
+    public enum Profile {
+        DEFAULT, THROUGHPUT;
+
+        /** {@code browser.profile} from a -D system property, then test.properties; blank means DEFAULT */
+        public static Profile fromConfig() {
+            String value = TestConfig.get().string("browser.profile", "");
+            if (value.isBlank()) return DEFAULT;
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown browser.profile '" + value + "' (expected default or throughput)");
+            }
+        }
+
+        public String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final String DEFAULT_BLOCKED_URLS = String.join(",",
+            "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*", "*facebook.net*",
+            "*connect.facebook.*", "*hotjar.com*", "*segment.io*", "*segment.com*", "*sentry.io*",
+            "*intercom.io*", "*clarity.ms*", "*fonts.googleapis.com*", "*fonts.gstatic.com*",
+            "*.woff", "*.woff2", "*.ttf");
+
+    // One cache directory per concurrently running browser, reused by whichever browser starts next
+    private static final CacheSlots CACHE_SLOTS = new CacheSlots();
+
+    // Browsers started with the throughput network rules, so tabs they open later can get them too
+    private static final Set<WebDriver> WITH_RULES = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
     public static WebDriver createChromeDriver(boolean headless) {
-        WebDriverManager.chromedriver().setup();
+        return createChromeDriver(headless, Profile.fromConfig());
+    }
+
+    /** Starts Chrome with the given profile; startup time is recorded as the "browser.start" step */
+    public static WebDriver createChromeDriver(boolean headless, Profile profile) {
+        return createChromeDriver(headless, profile, opts -> { });
+    }
+
+    /** Same, with {@code customizer} applied to the options last (e.g. a different page load strategy) */
+    public static WebDriver createChromeDriver(boolean headless, Profile profile, Consumer<ChromeOptions> customizer) {
+        return Metrics.timer("browser.start").time(() -> startChrome(headless, profile, customizer));
+    }
+
+    /** {@code grid.url} from a -D system property, then test.properties; null runs Chrome locally */
+    public static String gridUrl() {
+        String url = TestConfig.get().string("grid.url", "");
+        return url.isEmpty() ? null : url;
+    }
+
+    private static WebDriver startChrome(boolean headless, Profile profile, Consumer<ChromeOptions> customizer) {
+        String gridUrl = gridUrl();
+        if (gridUrl == null) {
+            WebDriverManager.chromedriver().setup();
+        }
         ChromeOptions opts = new ChromeOptions();
         if (headless) {
             opts.addArguments("--headless=new");
@@ -17,6 +113,150 @@ public class DriverFactory {
         }
         opts.addArguments("--disable-gpu");
         opts.addArguments("--no-sandbox");
-        return new ChromeDriver(opts);
+        // Lets ArtifactCaptureService read the console log of a failed test
+        LoggingPreferences logs = new LoggingPreferences();
+        logs.enable(LogType.BROWSER, Level.ALL);
+        opts.setCapability(ChromeOptions.LOGGING_PREFS, logs);
+        if (profile != Profile.THROUGHPUT) {
+            customizer.accept(opts);
+            return gridUrl == null ? new ChromeDriver(opts) : remote(gridUrl, opts);
+        }
+
+        // Return once the DOM is ready; page objects wait for the elements they need anyway
+        opts.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        opts.addArguments("--disable-extensions", "--disable-background-networking", "--disable-component-update",
+                "--disable-default-apps", "--disable-sync", "--no-first-run", "--no-default-browser-check",
+                "--metrics-recording-only", "--mute-audio");
+
+        if (gridUrl != null) {
+            // The node owns its disk, so there is no local cache folder to hand out
+            customizer.accept(opts);
+            return withNetworkRules(remote(gridUrl, opts));
+        }
+
+        int slot = CACHE_SLOTS.lease();
+        Path cacheDir = Paths.get(TestConfig.get().string("browser.cache.dir", "target/chrome-cache"), "slot-" + slot);
+        opts.addArguments("--disk-cache-dir=" + cacheDir.toAbsolutePath());
+        customizer.accept(opts);
+
+        ChromeDriver driver;
+        try {
+            driver = new ChromeDriver(opts) {
+                @Override
+                public void quit() {
+                    try {
+                        super.quit();
+                    } finally {
+                        CACHE_SLOTS.release(slot);
+                    }
+                }
+            };
+        } catch (RuntimeException e) {
+            CACHE_SLOTS.release(slot);
+            throw e;
+        }
+
+        return withNetworkRules(driver);
+    }
+
+    /** Chrome on a Selenium Grid node; augmented so DevTools (CDP over the Grid) works as it does locally */
+    private static WebDriver remote(String gridUrl, ChromeOptions opts) {
+        try {
+            return new Augmenter().augment(new RemoteWebDriver(URI.create(gridUrl).toURL(), opts));
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid grid.url '" + gridUrl + "'", e);
+        }
+    }
+
+    private static WebDriver withNetworkRules(WebDriver driver) {
+        try {
+            if (!(driver instanceof HasDevTools devTools)) {
+                throw new IllegalStateException("the browser does not expose DevTools");
+            }
+            applyNetworkRules(devTools.getDevTools());
+            WITH_RULES.add(driver);
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw new RuntimeException("Failed to apply the throughput profile: " + e.getMessage(), e);
+        }
+        return driver;
+    }
+
+    /**
+     * Applies the throughput network rules to a tab opened after the browser started; does nothing for a
+     * browser started without them. CDP rules are per target and the browser's own DevTools session only
+     * covers its first tab, so each extra tab gets a CDP connection of its own, which also keeps its
+     * Fetch listener apart from the other tabs'. The connection lives as long as the browser.
+     */
+    public static void applyNetworkRules(WebDriver driver, String windowHandle) {
+        if (!WITH_RULES.contains(driver)) {
+            return;
+        }
+        Connection connection = SeleniumCdpConnection.create(driver)
+                .orElseThrow(() -> new IllegalStateException("the browser does not expose DevTools"));
+        DevTools devTools = new DevTools(v116Domains::new, connection);
+        try {
+            devTools.createSession(windowHandle);
+            applyNetworkRules(devTools);
+        } catch (RuntimeException e) {
+            devTools.close();
+            throw new RuntimeException("Failed to apply the throughput profile to tab " + windowHandle + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Blocks {@code browser.block.urls} and, with {@code browser.block.images}, every image not matching
+     * {@code browser.images.allow} until the page submits a form (a non-GET request); from then on until
+     * the next page load all images go through, so the wallet badges load whatever URL they are served from.
+     */
+    private static void applyNetworkRules(DevTools devTools) {
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+
+        List<String> blocked = Arrays.stream(TestConfig.get().string("browser.block.urls", DEFAULT_BLOCKED_URLS).split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+        if (!blocked.isEmpty()) {
+            devTools.send(Network.setBlockedURLs(blocked));
+        }
+
+        if (TestConfig.get().bool("browser.block.images", true)) {
+            Pattern allowed = Pattern.compile(TestConfig.get().string("browser.images.allow", "(?i).*wallet.*"));
+            AtomicBoolean submitted = new AtomicBoolean();
+            devTools.addListener(Network.requestWillBeSent(), sent -> {
+                if (!"GET".equalsIgnoreCase(sent.getRequest().getMethod())) {
+                    submitted.set(true);
+                } else if (sent.getType().orElse(null) == ResourceType.DOCUMENT) {
+                    submitted.set(false);
+                }
+            });
+            devTools.send(Fetch.enable(Optional.of(List.of(
+                    new RequestPattern(Optional.of("*"), Optional.of(ResourceType.IMAGE), Optional.of(RequestStage.REQUEST)))),
+                    Optional.empty()));
+            devTools.addListener(Fetch.requestPaused(), paused -> {
+                if (submitted.get() || allowed.matcher(paused.getRequest().getUrl()).matches()) {
+                    devTools.send(Fetch.continueRequest(paused.getRequestId(),
+                            Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty()));
+                } else {
+                    devTools.send(Fetch.failRequest(paused.getRequestId(), ErrorReason.BLOCKEDBYCLIENT));
+                }
+            });
+        }
+    }
+
+    /** Hands out the lowest free slot number, so at most one live browser writes to each cache directory */
+    private static final class CacheSlots {
+        private final BitSet used = new BitSet();
+
+        synchronized int lease() {
+            int slot = used.nextClearBit(0);
+            used.set(slot);
+            return slot;
+        }
+
+        synchronized void release(int slot) {
+            used.clear(slot);
+        }
     }
 }
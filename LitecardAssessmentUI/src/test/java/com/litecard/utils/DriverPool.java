@@ -0,0 +1,197 @@
+package com.litecard.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of warm WebDriver sessions.
+ *
+ * At most {@code size} sessions exist at any time. A session is health-checked
+ * when it is checked back in and is quit and replaced once it has served
+ * {@code maxUses} checkouts, so long runs don't accumulate leaked browser state.
+ *
+ * Usage Example:
+ *   try (DriverPool pool = DriverPool.chrome(4, 50, true)) {
+ *       pool.warmUp();
+ *       pool.withDriver(driver -> { ... });
+ *   }
+ */
+public class DriverPool implements AutoCloseable {
+
+    private final int size;
+    private final int maxUses;
+    private final Supplier<WebDriver> factory;
+    private final Semaphore permits;
+    private final BlockingQueue<PooledDriver> idle = new LinkedBlockingQueue<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger recycled = new AtomicInteger();
+    private volatile boolean closed;
+
+    public DriverPool(int size, int maxUses, Supplier<WebDriver> factory) {
+        if (size < 1) throw new IllegalArgumentException("Pool size must be at least 1");
+        this.size = size;
+        this.maxUses = maxUses < 1 ? Integer.MAX_VALUE : maxUses;
+        this.factory = factory;
+        this.permits = new Semaphore(size, true);
+    }
+
+    /** Pool of ChromeDrivers built by {@link DriverFactory#createChromeDriver(boolean)} */
+    public static DriverPool chrome(int size, int maxUses, boolean headless) {
+        return new DriverPool(size, maxUses, () -> DriverFactory.createChromeDriver(headless));
+    }
+
+    /** Starts all sessions up front (in parallel) so the first checkouts don't pay browser start-up */
+    public void warmUp() {
+        List<CompletableFuture<PooledDriver>> starting = new ArrayList<>();
+        for (int i = idle.size(); i < size; i++) {
+            starting.add(CompletableFuture.supplyAsync(this::newSession));
+        }
+        for (CompletableFuture<PooledDriver> f : starting) {
+            idle.offer(f.join());
+        }
+        System.out.println("[DriverPool] Warmed up " + idle.size() + " browser session(s).");
+    }
+
+    /** Checks out a session, waiting up to {@code timeout} for one to become free */
+    public PooledDriver borrow(Duration timeout) throws InterruptedException {
+        if (closed) throw new IllegalStateException("DriverPool is closed");
+        if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new RuntimeException("No browser session became free within " + timeout);
+        }
+        try {
+            PooledDriver session = idle.poll();
+            return session != null ? session : newSession();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /** Returns a session to the pool; unhealthy or worn-out sessions are quit instead */
+    public void release(PooledDriver session) {
+        try {
+            session.uses++;
+            if (closed || session.uses >= maxUses || !isHealthy(session.driver)) {
+                discard(session);
+            } else {
+                idle.offer(session);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Returns a session that is known to be broken (e.g. after a WebDriverException) */
+    public void invalidate(PooledDriver session) {
+        try {
+            discard(session);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Borrows a session, runs the work and checks it back in (or drops it if the work failed) */
+    public <T> T withDriver(Function<WebDriver, T> work) {
+        PooledDriver session;
+        try {
+            session = borrow(Duration.ofMinutes(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a browser session", e);
+        }
+        boolean succeeded = false;
+        try {
+            T result = work.apply(session.driver());
+            succeeded = true;
+            return result;
+        } finally {
+            // Checked back in exactly once, even if release itself throws
+            if (succeeded) {
+                release(session);
+            } else {
+                invalidate(session);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int createdCount() {
+        return created.get();
+    }
+
+    public int recycledCount() {
+        return recycled.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PooledDriver session;
+        while ((session = idle.poll()) != null) {
+            quitQuietly(session.driver);
+        }
+        System.out.println("[DriverPool] Closed. Sessions created: " + created.get() + ", recycled: " + recycled.get());
+    }
+
+    private PooledDriver newSession() {
+        WebDriver driver = factory.get();
+        created.incrementAndGet();
+        return new PooledDriver(driver);
+    }
+
+    private void discard(PooledDriver session) {
+        recycled.incrementAndGet();
+        quitQuietly(session.driver);
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            ((JavascriptExecutor) driver).executeScript("return 1;");
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("[DriverPool] Failed to quit browser session: " + e.getMessage());
+        }
+    }
+
+    /** A checked-out browser session and the number of times it has been used */
+    public static final class PooledDriver {
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledDriver(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        public WebDriver driver() {
+            return driver;
+        }
+
+        public int uses() {
+            return uses;
+        }
+    }
+}
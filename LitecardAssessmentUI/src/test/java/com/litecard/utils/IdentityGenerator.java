@@ -0,0 +1,124 @@
+package com.litecard.utils;
+
+import config.TestConfig;
+
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Unique, reproducible signup identities without any coordination between threads or shards.
+ *
+ * Identity (worker, n) is a pure function of the run ID, the seed, the worker number and n: the email
+ * embeds all three ({@code qa.<lastname>.<runId>.<worker>.<n>@example.com}), and the first name and
+ * birthday come from a hash of them. Different runs never collide, the same run ID regenerates
+ * the same identities (so a resumed run finds its journal entries), and each worker just counts up.
+ * Signup tests use their shard index as the worker and the pass number as n.
+ *
+ * Usage Example:
+ *   IdentityGenerator identities = IdentityGenerator.fromConfig();
+ *   identities.stream(workerId).limit(1_000).forEach(id -> submit(id));
+ *   Identity one = identities.identity(shard.index(), 42);
+ */
+public class IdentityGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "Alex", "Sam", "Jordan", "Taylor", "Morgan", "Casey", "Riley", "Jamie", "Avery", "Quinn",
+            "Charlie", "Drew", "Emerson", "Finley", "Harper", "Hayden", "Kai", "Logan", "Parker", "Reese"};
+    private static final DateTimeFormatter BIRTHDAY_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    // Birthdays between 1950-01-01 and 2005-12-31, so every identity is an adult with a valid date
+    private static final long FIRST_BIRTHDAY = LocalDate.of(1950, 1, 1).toEpochDay();
+    private static final long BIRTHDAY_DAYS = LocalDate.of(2005, 12, 31).toEpochDay() - FIRST_BIRTHDAY + 1;
+    private static final String RUN_ID_ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+
+    private static String invocationRunId;
+
+    private final String runId;
+    private final long seed;
+    private final String lastName;
+
+    public IdentityGenerator(String runId, long seed, String lastName) {
+        if (!runId.matches("[a-z0-9-]+")) {
+            throw new IllegalArgumentException("Run ID must be lower-case letters, digits or '-': " + runId);
+        }
+        this.runId = runId;
+        this.seed = seed;
+        this.lastName = lastName;
+    }
+
+    /**
+     * {@code identity.run.id} (-D or test.properties), else a random ID created once per JVM: every test of
+     * one invocation shares it, and the next invocation signs up fresh emails unless it pins the ID to resume.
+     * {@code identity.seed} defaults to a hash of the run ID.
+     */
+    public static IdentityGenerator fromConfig() {
+        String runId = setting("identity.run.id", "");
+        if (runId.isEmpty()) {
+            runId = invocationRunId();
+        }
+        String seed = setting("identity.seed", "");
+        return new IdentityGenerator(runId,
+                seed.isEmpty() ? runId.hashCode() : Long.parseLong(seed),
+                setting("identity.last.name", "Sulakkana"));
+    }
+
+    public String runId() {
+        return runId;
+    }
+
+    /** A generator for a sub-run (e.g. one load run) whose emails can never collide with this run's */
+    public IdentityGenerator forRun(String suffix) {
+        return new IdentityGenerator(runId + "-" + suffix, seed, lastName);
+    }
+
+    /** The n-th identity (n >= 1) of {@code worker} */
+    public Identity identity(int worker, long n) {
+        long hash = mix(seed ^ mix(((long) worker << 40) ^ n));
+        String firstName = FIRST_NAMES[(int) Long.remainderUnsigned(hash, FIRST_NAMES.length)];
+        LocalDate birthday = LocalDate.ofEpochDay(FIRST_BIRTHDAY + Long.remainderUnsigned(hash >>> 16, BIRTHDAY_DAYS));
+        String email = String.format(Locale.ROOT, "qa.%s.%s.%d.%d@example.com",
+                lastName.toLowerCase(Locale.ROOT), runId, worker, n);
+        return new Identity(firstName, lastName, email, birthday.format(BIRTHDAY_FORMAT));
+    }
+
+    /** Lazy, unbounded sequence of a worker's identities (n = 1, 2, ...); nothing is materialised */
+    public Stream<Identity> stream(int worker) {
+        return LongStream.iterate(1, n -> n + 1).mapToObj(n -> identity(worker, n));
+    }
+
+    public Iterator<Identity> iterator(int worker) {
+        return stream(worker).iterator();
+    }
+
+    /** One signup's form values; birthday is dd/MM/yyyy as the form expects */
+    public record Identity(String firstName, String lastName, String email, String birthday) { }
+
+    // SplitMix64 finaliser: spreads neighbouring inputs over the whole 64-bit range
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static synchronized String invocationRunId() {
+        if (invocationRunId == null) {
+            SecureRandom random = new SecureRandom();
+            StringBuilder id = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                id.append(RUN_ID_ALPHABET.charAt(random.nextInt(RUN_ID_ALPHABET.length())));
+            }
+            invocationRunId = id.toString();
+            System.out.println("[IdentityGenerator] New run ID " + id
+                    + " (rerun with -Didentity.run.id=" + id + " to resume it)");
+        }
+        return invocationRunId;
+    }
+
+    private static String setting(String key, String defaultValue) {
+        return TestConfig.get().string(key, defaultValue);
+    }
+}
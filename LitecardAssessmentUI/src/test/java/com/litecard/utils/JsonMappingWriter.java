@@ -0,0 +1,46 @@
+package com.litecard.utils;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams {"email": ..., "cardId": ...} objects into a JSON array with Gson's {@link JsonWriter},
+ * flushing after every object. The closing bracket is written by {@link #close()}; a file cut
+ * short by a crash holds every record up to that point.
+ */
+public class JsonMappingWriter implements MappingWriter {
+
+    private final Path outputFile;
+    private final JsonWriter json;
+    private long records;
+
+    public JsonMappingWriter(Path outputFile) throws IOException {
+        this.outputFile = outputFile;
+        if (outputFile.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(outputFile.toAbsolutePath().getParent());
+        }
+        this.json = new JsonWriter(Files.newBufferedWriter(outputFile));
+        json.setIndent("  ");
+        json.beginArray();
+    }
+
+    @Override
+    public synchronized void write(String email, String cardId) throws IOException {
+        json.beginObject();
+        json.name("email").value(email);
+        json.name("cardId").value(cardId);
+        json.endObject();
+        json.flush();
+        records++;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        json.endArray();
+        json.close();
+        System.out.println("JSON report written to: " + outputFile.toAbsolutePath() + " (" + records + " records)");
+    }
+}
@@ -0,0 +1,41 @@
+package com.litecard.utils;
+
+import java.io.IOException;
+
+/**
+ * Incremental sink for email→cardId records.
+ *
+ * Each record is flushed as soon as it is written, so memory stays flat however many
+ * rows a run produces and everything written so far survives a crash mid-run.
+ * Implementations are safe to call from several threads.
+ */
+public interface MappingWriter extends AutoCloseable {
+
+    void write(String email, String cardId) throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    /** Writes every record to all of the given writers */
+    static MappingWriter tee(MappingWriter... writers) {
+        return new MappingWriter() {
+            @Override
+            public synchronized void write(String email, String cardId) throws IOException {
+                for (MappingWriter w : writers) w.write(email, cardId);
+            }
+
+            @Override
+            public void close() throws IOException {
+                IOException first = null;
+                for (MappingWriter w : writers) {
+                    try {
+                        w.close();
+                    } catch (IOException e) {
+                        if (first == null) first = e;
+                    }
+                }
+                if (first != null) throw first;
+            }
+        };
+    }
+}
@@ -0,0 +1,318 @@
+package com.litecard.utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Durable, append-only record of how far each email has got through the pipeline
+ * (signup → wallet check → cardId lookup → API update).
+ *
+ * One line per state change: {@code epochMillis,STAGE,email[,cardId]}, or {@code STAGE:detail}
+ * when a stage is reached once per detail (e.g. {@code UPDATED:BDAY}, one per card update action). Every line is
+ * flushed as soon as it is written, so after a crash the journal is replayed on
+ * {@link #open} and finished work is skipped. A torn last line is ignored.
+ * {@link #follow} tails the file so a later stage can start while an earlier one is still writing.
+ *
+ * Each opened journal is a session with its own ID; the end-of-signup marker
+ * ({@code epochMillis,SIGNUP_COMPLETE,session}) carries it, so a marker left by an earlier run
+ * never ends a follower waiting for the current one.
+ */
+public class PipelineJournal implements AutoCloseable {
+
+    public enum Stage { CREATED, WALLET_VERIFIED, CARDID_RESOLVED, UPDATED }
+
+    /** Written by the signup stage when it has no more emails to produce */
+    public static final String SIGNUP_COMPLETE = "SIGNUP_COMPLETE";
+
+    private static final String SESSION_ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+
+    private final Path file;
+    private final String session = newSession();
+    private final BufferedWriter writer;
+    private final Map<String, Entry> latest = new LinkedHashMap<>();
+    // "STAGE:detail" steps recorded per email
+    private final Map<String, Set<String>> details = new HashMap<>();
+    // Lines already in the file when it was opened; follow() only honours markers after them
+    private long replayedLines;
+    private boolean completedEarlier;
+    private boolean signupComplete;
+
+    private PipelineJournal(Path file) throws IOException {
+        this.file = file;
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    apply(line);
+                    replayedLines++;
+                }
+            }
+        }
+        boolean tornTail = endsWithoutNewline(file);
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        if (tornTail) {
+            // Terminate the half-written line of a crashed run so our first line isn't glued onto it
+            appendLine("");
+        }
+    }
+
+    private static boolean endsWithoutNewline(Path file) throws IOException {
+        if (!Files.exists(file) || Files.size(file) == 0) return false;
+        try (SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.READ)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.position(channel.size() - 1).read(last);
+            return last.get(0) != '\n';
+        }
+    }
+
+    /** Opens (or creates) the journal and replays what earlier runs recorded */
+    public static PipelineJournal open(Path file) throws IOException {
+        PipelineJournal journal = new PipelineJournal(file);
+        if (!journal.latest.isEmpty()) {
+            System.out.println("[PipelineJournal] Resuming from " + file + " (" + journal.latest.size() + " emails known)");
+        }
+        return journal;
+    }
+
+    public void record(String email, Stage stage) {
+        record(email, stage, null);
+    }
+
+    /** Appends a state change; stages only move forward, so replays and retries are harmless */
+    public synchronized void record(String email, Stage stage, String cardId) {
+        record(email, stage, cardId, null);
+    }
+
+    /**
+     * Appends a state change for one {@code detail} of a stage (e.g. UPDATED for the BDAY action); the
+     * same stage with another detail is still recorded, so {@link #reached(String, Stage, String)}
+     * tells the details apart. A null detail is the plain {@link #record(String, Stage, String)}.
+     */
+    public synchronized void record(String email, Stage stage, String cardId, String detail) {
+        Entry current = latest.get(email);
+        if (detail != null) {
+            String step = stage + ":" + detail;
+            if (!details.computeIfAbsent(email, e -> new HashSet<>()).add(step)) {
+                return;
+            }
+            String knownCardId = cardId != null ? cardId : current != null ? current.cardId() : null;
+            appendLine(System.currentTimeMillis() + "," + step + "," + email + (knownCardId != null ? "," + knownCardId : ""));
+            Stage newest = current != null && current.stage().compareTo(stage) > 0 ? current.stage() : stage;
+            latest.put(email, new Entry(email, newest, knownCardId));
+            return;
+        }
+        if (current != null && current.stage().compareTo(stage) >= 0 && (cardId == null || cardId.equals(current.cardId()))) {
+            return;
+        }
+        String knownCardId = cardId != null ? cardId : current != null ? current.cardId() : null;
+        appendLine(System.currentTimeMillis() + "," + stage + "," + email + (knownCardId != null ? "," + knownCardId : ""));
+        Stage newest = current != null && current.stage().compareTo(stage) > 0 ? current.stage() : stage;
+        latest.put(email, new Entry(email, newest, knownCardId));
+    }
+
+    /** Marks the end of this session's signup stage, so followers know no more emails are coming */
+    public synchronized void markSignupComplete() {
+        appendLine(System.currentTimeMillis() + "," + SIGNUP_COMPLETE + "," + session);
+        signupComplete = true;
+    }
+
+    public synchronized boolean reached(String email, Stage stage) {
+        Entry entry = latest.get(email);
+        return entry != null && entry.stage().compareTo(stage) >= 0;
+    }
+
+    /** Whether {@code stage} was recorded for {@code email} with this {@code detail} */
+    public synchronized boolean reached(String email, Stage stage, String detail) {
+        Set<String> steps = details.get(email);
+        return steps != null && steps.contains(stage + ":" + detail);
+    }
+
+    public synchronized Optional<String> cardIdOf(String email) {
+        Entry entry = latest.get(email);
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.cardId());
+    }
+
+    /** Emails whose latest stage is exactly {@code stage}, in first-seen order */
+    public synchronized List<String> emailsAt(Stage stage) {
+        List<String> emails = new ArrayList<>();
+        for (Entry entry : latest.values()) {
+            if (entry.stage() == stage) emails.add(entry.email());
+        }
+        return emails;
+    }
+
+    /** Snapshot of the latest entry per email, in first-seen order */
+    public synchronized List<Entry> entries() {
+        return Collections.unmodifiableList(new ArrayList<>(latest.values()));
+    }
+
+    /** True once this session called {@link #markSignupComplete}; markers of earlier runs don't count */
+    public synchronized boolean isSignupComplete() {
+        return signupComplete;
+    }
+
+    /** True if some earlier run finished its signup stage (its marker was replayed on open) */
+    public synchronized boolean signupCompletedEarlier() {
+        return completedEarlier;
+    }
+
+    /** ID written with this session's end-of-signup marker */
+    public String session() {
+        return session;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Tails this journal's file while another stage (or process) writes it, handing every entry,
+     * old and new, to {@code onEntry} as it is read, until a {@link #SIGNUP_COMPLETE} marker appended
+     * after {@link #open} is read or {@code idleTimeout} passes without new lines.
+     * Returns the number of entries seen.
+     */
+    public int follow(Duration idleTimeout, Consumer<Entry> onEntry) throws IOException, InterruptedException {
+        long replayed;
+        synchronized (this) {
+            replayed = replayedLines;
+        }
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        if (!Files.exists(file)) {
+            Files.createFile(file);
+        }
+
+        int seen = 0;
+        long lineNumber = 0;
+        long lastProgress = System.nanoTime();
+        StringBuilder partial = new StringBuilder();
+        try (WatchService watcher = FileSystems.getDefault().newWatchService();
+             BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            dir.register(watcher, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (true) {
+                int c;
+                boolean progressed = false;
+                while (reader.ready() && (c = reader.read()) != -1) {
+                    if (c != '\n') {
+                        partial.append((char) c);
+                        continue;
+                    }
+                    String line = partial.toString();
+                    partial.setLength(0);
+                    progressed = true;
+                    if (line.contains("," + SIGNUP_COMPLETE + ",")) {
+                        if (++lineNumber > replayed) {
+                            return seen;
+                        }
+                        // An earlier run's marker: its signups are done, the current run's may not be
+                        continue;
+                    }
+                    lineNumber++;
+                    Entry entry = parse(line);
+                    if (entry != null) {
+                        onEntry.accept(entry);
+                        seen++;
+                    }
+                }
+                if (progressed) {
+                    lastProgress = System.nanoTime();
+                } else if (System.nanoTime() - lastProgress > idleTimeout.toNanos()) {
+                    System.out.println("[PipelineJournal] No new entries for " + idleTimeout + ", stopping follow.");
+                    return seen;
+                }
+                // Wake up on the next write to the directory (polling once a second as a fallback)
+                WatchKey key = watcher.poll(1, TimeUnit.SECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+        }
+    }
+
+    private void apply(String line) {
+        if (line.contains("," + SIGNUP_COMPLETE + ",")) {
+            completedEarlier = true;
+            return;
+        }
+        Entry entry = parse(line);
+        if (entry == null) return;
+        String stageField = line.trim().split(",")[1];
+        if (stageField.indexOf(':') > 0) {
+            details.computeIfAbsent(entry.email(), e -> new HashSet<>()).add(stageField);
+        }
+        Entry current = latest.get(entry.email());
+        if (current == null || entry.stage().compareTo(current.stage()) >= 0) {
+            String cardId = entry.cardId() != null ? entry.cardId() : current != null ? current.cardId() : null;
+            latest.put(entry.email(), new Entry(entry.email(), entry.stage(), cardId));
+        }
+    }
+
+    private void appendLine(String line) {
+        try {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to append to pipeline journal " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Returns null for torn or unknown lines
+    private static Entry parse(String line) {
+        String[] parts = line.trim().split(",");
+        if (parts.length < 3) return null;
+        try {
+            int detail = parts[1].indexOf(':');
+            Stage stage = Stage.valueOf(detail > 0 ? parts[1].substring(0, detail) : parts[1]);
+            return new Entry(parts[2], stage, parts.length > 3 && !parts[3].isEmpty() ? parts[3] : null);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String newSession() {
+        SecureRandom random = new SecureRandom();
+        StringBuilder id = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            id.append(SESSION_ALPHABET.charAt(random.nextInt(SESSION_ALPHABET.length())));
+        }
+        return id.toString();
+    }
+
+    /** Latest known state of one email */
+    public record Entry(String email, Stage stage, String cardId) { }
+}
@@ -0,0 +1,222 @@
+package com.litecard.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import com.litecard.api.BrowserTokenExtractor;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Saves a logged-in dashboard session (cookies, localStorage and access token) to a file
+ * under target/ and injects it into later drivers, so they skip the Auth0 round trip.
+ *
+ * A snapshot is ignored once it is older than the TTL or its access token has expired;
+ * callers then fall back to a real login and save a fresh snapshot.
+ *
+ * Usage Example:
+ *   SessionCache cache = new SessionCache(Paths.get("target/session/admin-session.json"), Duration.ofMinutes(30));
+ *   if (!cache.restore(driver)) { ...login...; cache.save(driver); }
+ */
+public class SessionCache {
+
+    // Treat tokens this close to expiry as already expired
+    private static final Duration EXPIRY_SKEW = Duration.ofSeconds(60);
+
+    private static final String DUMP_STORAGE_JS =
+            "var o = {};" +
+            "for (var i = 0; i < localStorage.length; i++) { var k = localStorage.key(i); o[k] = localStorage.getItem(k); }" +
+            "return JSON.stringify(o);";
+
+    private static final String LOAD_STORAGE_JS =
+            "var o = JSON.parse(arguments[0]);" +
+            "Object.keys(o).forEach(function (k) { localStorage.setItem(k, o[k]); });";
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Path file;
+    private final Duration ttl;
+
+    public SessionCache(Path file, Duration ttl) {
+        this.file = file;
+        this.ttl = ttl;
+    }
+
+    /** Captures the current (logged-in) session of {@code driver} and writes it to the cache file */
+    public void save(WebDriver driver) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Snapshot snapshot = new Snapshot();
+        snapshot.origin = (String) js.executeScript("return window.location.origin;");
+        snapshot.landingUrl = driver.getCurrentUrl();
+        snapshot.savedAt = System.currentTimeMillis();
+        snapshot.localStorage = GSON.fromJson((String) js.executeScript(DUMP_STORAGE_JS),
+                new TypeToken<Map<String, String>>() { }.getType());
+
+        try {
+            snapshot.accessToken = BrowserTokenExtractor.extract(driver);
+            snapshot.tokenExpiresAt = jwtExpiry(snapshot.accessToken);
+        } catch (RuntimeException e) {
+            System.out.println("[SessionCache] No access token in session, caching cookies/storage only.");
+        }
+
+        snapshot.cookies = new ArrayList<>();
+        for (Cookie c : driver.manage().getCookies()) {
+            snapshot.cookies.add(CookieData.from(c));
+        }
+
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            // Write-then-rename so parallel workers never read a half-written file
+            Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), "session", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                GSON.toJson(snapshot, writer);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            System.out.println("[SessionCache] Saved session to: " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("[SessionCache] Failed to save session: " + e.getMessage());
+        }
+    }
+
+    /** Returns the cached snapshot if it exists and is still valid */
+    public Optional<Snapshot> load() {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Snapshot snapshot = GSON.fromJson(reader, Snapshot.class);
+            long now = System.currentTimeMillis();
+            if (snapshot == null || snapshot.savedAt + ttl.toMillis() < now) {
+                System.out.println("[SessionCache] Cached session is older than " + ttl + ", ignoring it.");
+                return Optional.empty();
+            }
+            if (snapshot.tokenExpiresAt > 0 && snapshot.tokenExpiresAt - EXPIRY_SKEW.toMillis() < now) {
+                System.out.println("[SessionCache] Cached access token has expired, ignoring it.");
+                return Optional.empty();
+            }
+            return Optional.of(snapshot);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[SessionCache] Unreadable session cache, ignoring it: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Injects the cached session into {@code driver} and opens the page the session was saved on.
+     * Returns false (without touching the driver) if there is no valid snapshot.
+     */
+    public boolean restore(WebDriver driver) {
+        Optional<Snapshot> cached = load();
+        if (cached.isEmpty()) {
+            return false;
+        }
+        Snapshot snapshot = cached.get();
+
+        // Cookies and storage can only be set for the origin the browser is currently on
+        driver.get(snapshot.origin);
+        for (CookieData c : snapshot.cookies) {
+            try {
+                driver.manage().addCookie(c.toCookie());
+            } catch (RuntimeException e) {
+                // Cookies for other domains (e.g. the Auth0 tenant) can't be set from here
+            }
+        }
+        if (snapshot.localStorage != null && !snapshot.localStorage.isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(LOAD_STORAGE_JS, GSON.toJson(snapshot.localStorage));
+        }
+        driver.get(snapshot.landingUrl != null ? snapshot.landingUrl : snapshot.origin);
+        System.out.println("[SessionCache] Restored cached session for: " + snapshot.origin);
+        return true;
+    }
+
+    /** Deletes the cache file, e.g. after a restored session turned out to be rejected */
+    public void invalidate() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("[SessionCache] Failed to delete " + file + ": " + e.getMessage());
+        }
+    }
+
+    /** Reads the "exp" claim (seconds) of a JWT; 0 if the token is opaque */
+    private static long jwtExpiry(String token) {
+        try {
+            String[] parts = token.split("\\.");
+            if (parts.length < 2) return 0;
+            String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+            JsonObject claims = JsonParser.parseString(payload).getAsJsonObject();
+            return claims.has("exp") ? claims.get("exp").getAsLong() * 1000 : 0;
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /** What gets written to the cache file */
+    public static class Snapshot {
+        String origin;
+        String landingUrl;
+        long savedAt;
+        long tokenExpiresAt;
+        String accessToken;
+        List<CookieData> cookies;
+        Map<String, String> localStorage;
+
+        public String accessToken() {
+            return accessToken;
+        }
+    }
+
+    // Gson-friendly copy of a Selenium cookie
+    static class CookieData {
+        String name;
+        String value;
+        String domain;
+        String path;
+        Long expiry;
+        boolean secure;
+        boolean httpOnly;
+        String sameSite;
+
+        static CookieData from(Cookie c) {
+            CookieData d = new CookieData();
+            d.name = c.getName();
+            d.value = c.getValue();
+            d.domain = c.getDomain();
+            d.path = c.getPath();
+            d.expiry = c.getExpiry() != null ? c.getExpiry().getTime() : null;
+            d.secure = c.isSecure();
+            d.httpOnly = c.isHttpOnly();
+            d.sameSite = c.getSameSite();
+            return d;
+        }
+
+        Cookie toCookie() {
+            Cookie.Builder builder = new Cookie.Builder(name, value)
+                    .path(path)
+                    .isSecure(secure)
+                    .isHttpOnly(httpOnly);
+            if (domain != null) builder.domain(domain);
+            if (expiry != null) builder.expiresOn(new Date(expiry));
+            if (sameSite != null) builder.sameSite(sameSite);
+            return builder.build();
+        }
+    }
+}
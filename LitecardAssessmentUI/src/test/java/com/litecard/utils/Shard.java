@@ -0,0 +1,61 @@
+package com.litecard.utils;
+
+import config.TestConfig;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.IntStream;
+
+/**
+ * This worker's slice of the signup workload when the run is split across machines / Grid nodes.
+ *
+ * Passes are numbered 1..signup.count (the number in the generated email), and shard {@code index}
+ * of {@code count} takes one contiguous range of them, so shards never create the same email and
+ * each shard's journal and reports only ever hold its own range.
+ *
+ * Usage Example:
+ *   mvn test -Dshard.index=0 -Dshard.count=4 -Dgrid.url=http://grid:4444
+ */
+public record Shard(int index, int count) {
+
+    public Shard {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count
+                    + " (shard.index must be 0.." + (count - 1) + ")");
+        }
+    }
+
+    /** {@code shard.index} / {@code shard.count} from -D system properties, then test.properties; one shard by default */
+    public static Shard fromConfig() {
+        return new Shard(Integer.parseInt(setting("shard.index", "0")), Integer.parseInt(setting("shard.count", "1")));
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    /** The 1-based pass numbers this shard owns out of {@code total} */
+    public int[] indices(int total) {
+        int from = (int) ((long) total * index / count);
+        int to = (int) ((long) total * (index + 1) / count);
+        return IntStream.rangeClosed(from + 1, to).toArray();
+    }
+
+    /** Where this shard keeps a file that is normally written to {@code path}: shard.dir/shard-N/<file name> */
+    public Path outputPath(String path) {
+        return shardDir(index).resolve(Paths.get(path).getFileName());
+    }
+
+    /** Root folder of the per-shard outputs that {@link ShardReportMerger} reads */
+    public static Path shardsRoot() {
+        return Paths.get(setting("shard.dir", "target/shards"));
+    }
+
+    static Path shardDir(int index) {
+        return shardsRoot().resolve("shard-" + index);
+    }
+
+    private static String setting(String key, String defaultValue) {
+        return TestConfig.get().string(key, defaultValue);
+    }
+}
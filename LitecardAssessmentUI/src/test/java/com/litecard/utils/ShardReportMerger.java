@@ -0,0 +1,119 @@
+package com.litecard.utils;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Merges the email_to_cardId.csv of every shard into one report: one row per email (compared
+ * case-insensitively), sorted by email, written as CSV and JSON. When two shards disagree on a
+ * cardId the first one seen wins and the conflict is logged.
+ *
+ * Usage Example:
+ *   ShardReportMerger merger = new ShardReportMerger();
+ *   merger.addAll(ShardReportMerger.shardFiles(Shard.shardsRoot(), "email_to_cardId.csv"));
+ *   merger.write(Paths.get("target/email_to_cardId.csv"), Paths.get("target/email_to_cardId.json"));
+ */
+public class ShardReportMerger {
+
+    private final Map<String, String> mappings = new TreeMap<>();
+    private int rowsRead;
+    private int duplicates;
+    private int conflicts;
+
+    /** The {@code fileName} of every shard-N folder under {@code root} that has one, in shard order */
+    public static List<Path> shardFiles(Path root, String fileName) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> dirs = Files.list(root)) {
+            return dirs.filter(dir -> dir.getFileName().toString().startsWith("shard-"))
+                    .sorted((a, b) -> Integer.compare(shardNumber(a), shardNumber(b)))
+                    .map(dir -> dir.resolve(fileName))
+                    .filter(Files::exists)
+                    .toList();
+        }
+    }
+
+    public void addAll(List<Path> csvFiles) throws IOException {
+        for (Path csv : csvFiles) {
+            add(csv);
+        }
+    }
+
+    /** Reads one email,cardId CSV (with header) as written by {@link CsvMappingWriter} */
+    public void add(Path csv) throws IOException {
+        CSVFormat format = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build();
+        try (Reader reader = Files.newBufferedReader(csv)) {
+            for (CSVRecord record : format.parse(reader)) {
+                String email = record.get("email").trim().toLowerCase(Locale.ROOT);
+                String cardId = record.get("cardId").trim();
+                if (email.isEmpty() || cardId.isEmpty()) continue;
+                rowsRead++;
+                String existing = mappings.putIfAbsent(email, cardId);
+                if (existing != null) {
+                    duplicates++;
+                    if (!existing.equals(cardId)) {
+                        conflicts++;
+                        System.err.println("[ShardReportMerger] " + email + " has cardId " + existing
+                                + " and " + cardId + " (" + csv + "); keeping " + existing);
+                    }
+                }
+            }
+        }
+        System.out.println("[ShardReportMerger] Read " + csv);
+    }
+
+    /** Writes the merged, sorted mappings to both reports */
+    public void write(Path csvOut, Path jsonOut) throws IOException {
+        try (MappingWriter csv = new CsvMappingWriter(csvOut, false);
+             MappingWriter json = new JsonMappingWriter(jsonOut)) {
+            for (Map.Entry<String, String> entry : mappings.entrySet()) {
+                csv.write(entry.getKey(), entry.getValue());
+                json.write(entry.getKey(), entry.getValue());
+            }
+        }
+        System.out.println("[ShardReportMerger] " + mappings.size() + " unique emails from " + rowsRead + " rows ("
+                + duplicates + " duplicates, " + conflicts + " conflicting cardIds)");
+    }
+
+    public int size() {
+        return mappings.size();
+    }
+
+    public int conflicts() {
+        return conflicts;
+    }
+
+    public Map<String, String> mappings() {
+        return mappings;
+    }
+
+    /** args: [shards root] [csv out] [json out]; defaults to target/shards, target/email_to_cardId.csv/.json */
+    public static void main(String[] args) throws IOException {
+        Path root = Paths.get(args.length > 0 ? args[0] : "target/shards");
+        Path csvOut = Paths.get(args.length > 1 ? args[1] : "target/email_to_cardId.csv");
+        Path jsonOut = Paths.get(args.length > 2 ? args[2] : "target/email_to_cardId.json");
+        ShardReportMerger merger = new ShardReportMerger();
+        merger.addAll(shardFiles(root, csvOut.getFileName().toString()));
+        merger.write(csvOut, jsonOut);
+    }
+
+    private static int shardNumber(Path dir) {
+        try {
+            return Integer.parseInt(dir.getFileName().toString().substring("shard-".length()));
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.litecard.utils;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.DevToolsException;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v116.network.Network;
+import org.openqa.selenium.devtools.v116.network.model.RequestId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the cardId out of the signup API response of a Chrome session through the DevTools Protocol,
+ * so a created pass is mapped to its cardId without searching the admin dashboard afterwards.
+ *
+ * POSTs whose URL matches the configured pattern are remembered (with their request body) from
+ * Network.requestWillBeSent until Network.loadingFinished; the body is only fetched
+ * (Network.getResponseBody) on the caller's thread, never inside a DevTools event callback.
+ *
+ * Usage Example:
+ *   SignupResponseCapture capture = SignupResponseCapture.of(driver, ".+/signup([/?].*)?");
+ *   capture.reset();
+ *   signup.fillAndSubmit(...);
+ *   Optional<String> cardId = capture.awaitCardId(email, Duration.ofSeconds(2));
+ */
+public class SignupResponseCapture {
+
+    private static final Map<WebDriver, SignupResponseCapture> CAPTURES = new WeakHashMap<>();
+
+    private final DevTools devTools;
+    private final Pattern urlPattern;
+    private final Map<RequestId, Exchange> inFlight = new HashMap<>();
+    private final Deque<Exchange> finished = new ArrayDeque<>();
+
+    private SignupResponseCapture(DevTools devTools, Pattern urlPattern) {
+        this.devTools = devTools;
+        this.urlPattern = urlPattern;
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+
+        devTools.addListener(Network.requestWillBeSent(), event -> {
+            if ("POST".equalsIgnoreCase(event.getRequest().getMethod())
+                    && urlPattern.matcher(event.getRequest().getUrl()).matches()) {
+                started(event.getRequestId(), event.getRequest().getPostData().orElse(null));
+            }
+        });
+        devTools.addListener(Network.responseReceived(), event -> responded(event.getRequestId(), event.getResponse().getStatus()));
+        devTools.addListener(Network.loadingFinished(), event -> finished(event.getRequestId()));
+        devTools.addListener(Network.loadingFailed(), event -> failed(event.getRequestId()));
+    }
+
+    /**
+     * Returns the capture for this driver, attaching one on first use; null if the driver has no DevTools.
+     * {@code urlRegex} must match the whole signup API URL.
+     */
+    public static SignupResponseCapture of(WebDriver driver, String urlRegex) {
+        if (!(driver instanceof HasDevTools)) {
+            return null;
+        }
+        synchronized (CAPTURES) {
+            return CAPTURES.computeIfAbsent(driver,
+                    d -> new SignupResponseCapture(((HasDevTools) d).getDevTools(), Pattern.compile(urlRegex)));
+        }
+    }
+
+    /** Forgets earlier signups; call before submitting the next form */
+    public synchronized void reset() {
+        inFlight.clear();
+        finished.clear();
+    }
+
+    /**
+     * Waits for the signup response whose request body mentions {@code email} (or, if Chrome did
+     * not expose the body, the next signup response) and returns the cardId in it. Empty when no
+     * matching 2xx response arrived in time or it carried no cardId.
+     */
+    public Optional<String> awaitCardId(String email, Duration timeout) {
+        Exchange exchange;
+        try {
+            exchange = awaitFinished(email.toLowerCase(Locale.ROOT), System.nanoTime() + timeout.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the signup response", e);
+        }
+        if (exchange == null) {
+            return Optional.empty();
+        }
+        if (exchange.status < 200 || exchange.status >= 300) {
+            System.out.println("[SignupResponseCapture] Signup for " + email + " answered HTTP " + exchange.status);
+            return Optional.empty();
+        }
+
+        try {
+            Network.GetResponseBodyResponse response = devTools.send(Network.getResponseBody(exchange.requestId));
+            String body = response.getBase64Encoded()
+                    ? new String(Base64.getDecoder().decode(response.getBody()), StandardCharsets.UTF_8)
+                    : response.getBody();
+            Optional<String> cardId = cardIdFrom(body);
+            if (cardId.isEmpty()) {
+                System.out.println("[SignupResponseCapture] No cardId in signup response for " + email);
+            }
+            return cardId;
+        } catch (DevToolsException e) {
+            // Chrome drops response bodies it has evicted from its buffer
+            System.out.println("[SignupResponseCapture] Could not read signup response for " + email + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /** Finds a "cardId" field at any depth, or the "id" of a nested "card" object */
+    public static Optional<String> cardIdFrom(String json) {
+        if (json == null || json.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return cardIdFrom(JsonParser.parseString(json));
+        } catch (JsonParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<String> cardIdFrom(JsonElement element) {
+        if (element.isJsonArray()) {
+            for (JsonElement child : element.getAsJsonArray()) {
+                Optional<String> found = cardIdFrom(child);
+                if (found.isPresent()) return found;
+            }
+        }
+        if (!element.isJsonObject()) {
+            return Optional.empty();
+        }
+        JsonObject object = element.getAsJsonObject();
+        if (object.has("cardId") && object.get("cardId").isJsonPrimitive()) {
+            return Optional.of(object.get("cardId").getAsString());
+        }
+        if (object.has("card") && object.get("card").isJsonObject()) {
+            JsonObject card = object.getAsJsonObject("card");
+            if (card.has("id") && card.get("id").isJsonPrimitive()) {
+                return Optional.of(card.get("id").getAsString());
+            }
+        }
+        for (Map.Entry<String, JsonElement> child : object.entrySet()) {
+            Optional<String> found = cardIdFrom(child.getValue());
+            if (found.isPresent()) return found;
+        }
+        return Optional.empty();
+    }
+
+    private synchronized Exchange awaitFinished(String email, long deadlineNanos) throws InterruptedException {
+        while (true) {
+            for (Iterator<Exchange> it = finished.iterator(); it.hasNext(); ) {
+                Exchange exchange = it.next();
+                if (exchange.postData == null || exchange.postData.toLowerCase(Locale.ROOT).contains(email)) {
+                    it.remove();
+                    return exchange;
+                }
+            }
+            long remaining = deadlineNanos - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+    }
+
+    private synchronized void started(RequestId id, String postData) {
+        inFlight.put(id, new Exchange(id, postData));
+    }
+
+    private synchronized void responded(RequestId id, Integer status) {
+        Exchange exchange = inFlight.get(id);
+        if (exchange != null && status != null) {
+            exchange.status = status;
+        }
+    }
+
+    private synchronized void finished(RequestId id) {
+        Exchange exchange = inFlight.remove(id);
+        if (exchange != null) {
+            finished.add(exchange);
+            notifyAll();
+        }
+    }
+
+    private synchronized void failed(RequestId id) {
+        inFlight.remove(id);
+    }
+
+    /** One signup POST seen on the wire; status is filled in when the response headers arrive */
+    private static final class Exchange {
+        final RequestId requestId;
+        final String postData;
+        int status;
+
+        Exchange(RequestId requestId, String postData) {
+            this.requestId = requestId;
+            this.postData = postData;
+        }
+    }
+}
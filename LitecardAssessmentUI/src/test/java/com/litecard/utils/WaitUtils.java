@@ -4,8 +4,55 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.*;
 
 import java.time.Duration;
+import java.util.Arrays;
 
 public class WaitUtils {
+    // Ant Design renders these while a spinner, table or button is busy
+    public static final String ANT_BUSY_SELECTOR =
+            ".ant-spin-spinning, .ant-table-loading, .ant-skeleton-active, .ant-btn-loading";
+
+    // Longest single async script call; longer waits are split into several calls
+    private static final long MAX_SCRIPT_WAIT_MS = 10_000;
+
+    /*
+     * Evaluates a predicate now and again after every DOM mutation batch, calling back
+     * the moment it holds. arguments: [0] timeout ms, [1] predicate args, [last] callback.
+     */
+    private static final String DOM_CONDITION_JS =
+            "var timeoutMs = arguments[0], args = arguments[1], done = arguments[arguments.length - 1];" +
+            "function check() { try { return !!predicate(args); } catch (e) { return false; } }" +
+            "if (check()) { done(true); return; }" +
+            "var finished = false, timer;" +
+            "var observer = new MutationObserver(function () { if (!finished && check()) finish(true); });" +
+            "function finish(result) { finished = true; observer.disconnect(); clearTimeout(timer); done(result); }" +
+            "observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "timer = setTimeout(function () { finish(check()); }, timeoutMs);";
+
+    // Calls back once no DOM mutation has happened for arguments[0] ms (or false after arguments[1] ms)
+    private static final String DOM_QUIET_JS =
+            "var quietMs = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];" +
+            "var finished = false, quietTimer, hardTimer;" +
+            "function finish(result) { if (finished) return; finished = true; observer.disconnect();" +
+            "  clearTimeout(quietTimer); clearTimeout(hardTimer); done(result); }" +
+            "var observer = new MutationObserver(function () {" +
+            "  clearTimeout(quietTimer); quietTimer = setTimeout(function () { finish(true); }, quietMs); });" +
+            "observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "quietTimer = setTimeout(function () { finish(true); }, quietMs);" +
+            "hardTimer = setTimeout(function () { finish(false); }, timeoutMs);";
+
+    // Calls back once the element's bounding box is the same in two consecutive samples
+    private static final String ELEMENT_STABLE_JS =
+            "var el = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];" +
+            "var start = Date.now(), last = null;" +
+            "function rect() { var r = el.getBoundingClientRect(); return r.top + ',' + r.left + ',' + r.width + ',' + r.height; }" +
+            "(function sample() {" +
+            "  if (!el.isConnected) { done(false); return; }" +
+            "  var now = rect();" +
+            "  if (now === last) { done(true); return; }" +
+            "  if (Date.now() - start > timeoutMs) { done(false); return; }" +
+            "  last = now; setTimeout(sample, 16);" +
+            "})();";
+
     private WebDriver driver;
     public WaitUtils(WebDriver driver) { this.driver = driver; }
 
@@ -23,4 +70,64 @@ public class WaitUtils {
         new WebDriverWait(driver, Duration.ofSeconds(seconds))
                 .until(ExpectedConditions.presenceOfElementLocated(locator));
     }
+
+    /**
+     * Waits until a JavaScript predicate returns true. {@code predicateBody} is the body of
+     * {@code function (args) { ... }}; it is re-evaluated after every DOM mutation, so the
+     * wait returns as soon as the page reaches the expected state.
+     */
+    public void waitForDomCondition(String predicateBody, Duration timeout, Object... args) {
+        String script = "var predicate = function (args) {" + predicateBody + "};" + DOM_CONDITION_JS;
+        if (!runUntilTrue(script, timeout, args)) {
+            throw new TimeoutException("DOM condition not met within " + timeout + ": " + predicateBody);
+        }
+    }
+
+    /** Waits until the DOM has not changed for {@code quietPeriod} */
+    public void waitForDomQuiet(Duration quietPeriod, Duration timeout) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while (true) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new TimeoutException("DOM did not settle for " + quietPeriod + " within " + timeout);
+            }
+            Object settled = executeAsync(DOM_QUIET_JS, quietPeriod.toMillis(), Math.min(remaining, MAX_SCRIPT_WAIT_MS));
+            if (Boolean.TRUE.equals(settled)) return;
+        }
+    }
+
+    /** Waits until no Ant Design spinner, loading table, skeleton or loading button is on the page */
+    public void waitForAntIdle(Duration timeout) {
+        waitForDomCondition("return !document.querySelector('" + ANT_BUSY_SELECTOR + "');", timeout);
+    }
+
+    /** Waits until an element has stopped moving (e.g. after scrollIntoView or an animation) */
+    public void waitForStable(WebElement element, Duration timeout) {
+        Object stable = executeAsync(ELEMENT_STABLE_JS, element, Math.min(timeout.toMillis(), MAX_SCRIPT_WAIT_MS));
+        if (!Boolean.TRUE.equals(stable)) {
+            throw new TimeoutException("Element did not stop moving within " + timeout);
+        }
+    }
+
+    private boolean runUntilTrue(String script, Duration timeout, Object... args) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        Object predicateArgs = args.length == 1 ? args[0] : Arrays.asList(args);
+        while (true) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) return false;
+            try {
+                if (Boolean.TRUE.equals(executeAsync(script, Math.min(remaining, MAX_SCRIPT_WAIT_MS), predicateArgs))) {
+                    return true;
+                }
+            } catch (NoSuchSessionException e) {
+                throw e;
+            } catch (WebDriverException e) {
+                // The document was replaced mid-wait (navigation / re-render); observe the new one
+            }
+        }
+    }
+
+    private Object executeAsync(String script, Object... args) {
+        return ((JavascriptExecutor) driver).executeAsyncScript(script, args);
+    }
 }
@@ -0,0 +1,69 @@
+package com.litecard.utils.tests;
+
+import com.litecard.utils.IdentityGenerator;
+import com.litecard.utils.IdentityGenerator.Identity;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Checks that IdentityGenerator is deterministic per run ID and never repeats an email
+ * across workers, passes or runs.
+ */
+public class IdentityGeneratorTest {
+
+    @Test
+    public void sameRunIdRegeneratesTheSameIdentities() {
+        IdentityGenerator first = new IdentityGenerator("abc12345", 7, "Sulakkana");
+        IdentityGenerator second = new IdentityGenerator("abc12345", 7, "Sulakkana");
+
+        for (int worker = 0; worker < 4; worker++) {
+            for (long n = 1; n <= 100; n++) {
+                Assert.assertEquals(second.identity(worker, n), first.identity(worker, n));
+            }
+        }
+        Assert.assertEquals(first.identity(2, 42).email(), "qa.sulakkana.abc12345.2.42@example.com");
+        Assert.assertEquals(first.stream(3).limit(5).toList(), second.stream(3).limit(5).toList());
+    }
+
+    @Test
+    public void emailsAreUniqueAcrossWorkersPassesAndRuns() {
+        Set<String> emails = new HashSet<>();
+        for (IdentityGenerator run : new IdentityGenerator[]{
+                new IdentityGenerator("run1", 7, "Sulakkana"),
+                new IdentityGenerator("run2", 7, "Sulakkana"),
+                new IdentityGenerator("run1", 7, "Sulakkana").forRun("load-1")}) {
+            for (int worker = 0; worker < 8; worker++) {
+                run.stream(worker).limit(1_000).forEach(identity ->
+                        Assert.assertTrue(emails.add(identity.email()), "duplicate " + identity.email()));
+            }
+        }
+        Assert.assertEquals(emails.size(), 3 * 8 * 1_000);
+    }
+
+    @Test
+    public void birthdaysAreAdultDatesInFormFormat() {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        new IdentityGenerator("abc12345", 7, "Sulakkana").stream(0).limit(1_000).forEach(identity -> {
+            LocalDate birthday = LocalDate.parse(identity.birthday(), format);
+            Assert.assertFalse(birthday.isBefore(LocalDate.of(1950, 1, 1)), identity.birthday());
+            Assert.assertFalse(birthday.isAfter(LocalDate.of(2005, 12, 31)), identity.birthday());
+        });
+    }
+
+    @Test
+    public void fromConfigSharesOneRunIdPerInvocation() {
+        Identity first = IdentityGenerator.fromConfig().identity(0, 1);
+        Identity second = IdentityGenerator.fromConfig().identity(0, 1);
+        Assert.assertEquals(second, first);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsRunIdsThatDoNotFitAnEmail() {
+        new IdentityGenerator("Run 1", 7, "Sulakkana");
+    }
+}
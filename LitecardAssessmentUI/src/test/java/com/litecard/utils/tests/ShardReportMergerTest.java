@@ -0,0 +1,78 @@
+package com.litecard.utils.tests;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import com.litecard.utils.ShardReportMerger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges hand-written shard CSVs from a temp folder and checks the deduplication, ordering and
+ * conflict handling of ShardReportMerger, without running any shard.
+ */
+public class ShardReportMergerTest {
+
+    @Test
+    public void mergesShardsDeduplicatedAndSorted() throws Exception {
+        Path root = Files.createTempDirectory("shards");
+        shard(root, 10, "qa.zed@example.com,card-z\n");
+        shard(root, 0, "qa.bob@example.com,card-b\nQA.Alice@example.com,card-a\n");
+        shard(root, 1, "qa.alice@example.com,card-a\nqa.carol@example.com,card-c\n,card-blank\nqa.dave@example.com,\n");
+        // Neither a shard folder nor a shard with the report
+        Files.createDirectories(root.resolve("other"));
+        Files.createDirectories(root.resolve("shard-2"));
+
+        List<Path> files = ShardReportMerger.shardFiles(root, "email_to_cardId.csv");
+        Assert.assertEquals(files, List.of(
+                root.resolve("shard-0/email_to_cardId.csv"),
+                root.resolve("shard-1/email_to_cardId.csv"),
+                root.resolve("shard-10/email_to_cardId.csv")));
+
+        ShardReportMerger merger = new ShardReportMerger();
+        merger.addAll(files);
+        Assert.assertEquals(merger.conflicts(), 0);
+        Assert.assertEquals(List.copyOf(merger.mappings().keySet()),
+                List.of("qa.alice@example.com", "qa.bob@example.com", "qa.carol@example.com", "qa.zed@example.com"));
+
+        Path csvOut = root.resolve("email_to_cardId.csv");
+        Path jsonOut = root.resolve("email_to_cardId.json");
+        merger.write(csvOut, jsonOut);
+        Assert.assertEquals(Files.readAllLines(csvOut), List.of("email,cardId",
+                "qa.alice@example.com,card-a", "qa.bob@example.com,card-b",
+                "qa.carol@example.com,card-c", "qa.zed@example.com,card-z"));
+        JsonArray json = JsonParser.parseString(Files.readString(jsonOut)).getAsJsonArray();
+        Assert.assertEquals(json.size(), 4);
+        Assert.assertEquals(json.get(0).getAsJsonObject().get("email").getAsString(), "qa.alice@example.com");
+        Assert.assertEquals(json.get(3).getAsJsonObject().get("cardId").getAsString(), "card-z");
+    }
+
+    @Test
+    public void conflictingCardIdsKeepTheFirstShardAndAreCounted() throws Exception {
+        Path root = Files.createTempDirectory("shards");
+        shard(root, 0, "qa.alice@example.com,card-a\n");
+        shard(root, 1, "QA.ALICE@example.com,card-other\nqa.bob@example.com,card-b\n");
+
+        ShardReportMerger merger = new ShardReportMerger();
+        merger.addAll(ShardReportMerger.shardFiles(root, "email_to_cardId.csv"));
+
+        Assert.assertEquals(merger.conflicts(), 1);
+        Assert.assertEquals(merger.size(), 2);
+        Assert.assertEquals(merger.mappings(), Map.of("qa.alice@example.com", "card-a", "qa.bob@example.com", "card-b"));
+    }
+
+    @Test
+    public void missingShardsRootHasNoFiles() throws Exception {
+        Path root = Files.createTempDirectory("shards").resolve("missing");
+        Assert.assertTrue(ShardReportMerger.shardFiles(root, "email_to_cardId.csv").isEmpty());
+    }
+
+    private static void shard(Path root, int index, String rows) throws Exception {
+        Path dir = Files.createDirectories(root.resolve("shard-" + index));
+        Files.writeString(dir.resolve("email_to_cardId.csv"), "email,cardId\n" + rows);
+    }
+}
@@ -0,0 +1,252 @@
+package config;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * ConfigSnapshot.java
+ *
+ * One immutable, fully resolved view of the configuration (see {@link TestConfig} for the order
+ * the sources are layered in). The concurrency, pool, rate-limit and timeout settings are parsed once,
+ * when the snapshot is built, so reading them is a field access and a bad value fails the load instead
+ * of the test that happens to use it. Everything else is read by key; a key no file defines falls back
+ * to -D system properties and the environment.
+ *
+ * Usage Example:
+ *   ConfigSnapshot config = TestConfig.get();
+ *   int browsers = config.driverPoolSize();
+ *   String journal = config.string("pipeline.journal", "target/pipeline-journal.csv");
+ */
+public final class ConfigSnapshot {
+
+    private final Map<String, String> values;
+    private final String profile;
+
+    private final boolean headless;
+    private final String signupMode;
+    private final int signupCount;
+    private final Duration signupTimeout;
+    private final Duration signupCaptureTimeout;
+    private final int driverPoolSize;
+    private final int driverPoolMaxUses;
+    private final int driverTabsPerBrowser;
+    private final int pipelineExtractWorkers;
+    private final int pipelineQueueCapacity;
+    private final Duration pipelineFollowIdle;
+    private final Duration sessionTtl;
+    private final int apiConcurrency;
+    private final int apiMaxInFlight;
+    private final double apiRateInitial;
+    private final double apiRateMin;
+    private final double apiRateMax;
+    private final Duration apiLatencyTarget;
+    private final int apiRetryMaxAttempts;
+    private final Duration apiRetryBaseDelay;
+    private final Duration apiRetryMaxDelay;
+    private final Duration apiRequestDeadline;
+    private final int artifactsWriterThreads;
+    private final int artifactsQueueCapacity;
+    private final Duration artifactsAwait;
+    private final String loadModel;
+    private final double loadRate;
+    private final int loadUsers;
+    private final Duration loadDuration;
+    private final Duration loadPacing;
+    private final Duration loadDrain;
+    private final Duration loadSloP95;
+    private final Duration loadSloP99;
+    private final double loadSloErrorRate;
+
+    ConfigSnapshot(Map<String, String> values, String profile) {
+        this.values = Collections.unmodifiableMap(new TreeMap<>(values));
+        this.profile = profile;
+
+        headless = bool("headless", false);
+        signupMode = string("signup.mode", "sequential");
+        signupCount = integer("signup.count", 10);
+        signupTimeout = Duration.ofSeconds(number("signup.timeout.seconds", 60));
+        signupCaptureTimeout = Duration.ofMillis(number("signup.capture.timeout.ms", 2000));
+        driverPoolSize = integer("driver.pool.size", Runtime.getRuntime().availableProcessors());
+        driverPoolMaxUses = integer("driver.pool.maxUses", 50);
+        driverTabsPerBrowser = integer("driver.tabs.per.browser", 1);
+        pipelineExtractWorkers = integer("pipeline.extract.workers", 2);
+        pipelineQueueCapacity = integer("pipeline.queue.capacity", 16);
+        pipelineFollowIdle = Duration.ofSeconds(number("pipeline.follow.idle.seconds", 120));
+        sessionTtl = Duration.ofMinutes(number("session.ttl.minutes", 30));
+        apiConcurrency = integer("api.concurrency", 64);
+        apiMaxInFlight = integer("api.maxInFlight", 32);
+        apiRateInitial = decimal("api.rate.initial", 20);
+        apiRateMin = decimal("api.rate.min", 1);
+        apiRateMax = decimal("api.rate.max", 200);
+        apiLatencyTarget = Duration.ofMillis(number("api.latency.target.ms", 1000));
+        apiRetryMaxAttempts = integer("api.retry.maxAttempts", 5);
+        apiRetryBaseDelay = Duration.ofMillis(number("api.retry.baseDelay.ms", 200));
+        apiRetryMaxDelay = Duration.ofMillis(number("api.retry.maxDelay.ms", 10000));
+        apiRequestDeadline = Duration.ofMillis(number("api.request.deadline.ms", 60000));
+        artifactsWriterThreads = integer("artifacts.writer.threads", 2);
+        artifactsQueueCapacity = integer("artifacts.queue.capacity", 64);
+        artifactsAwait = Duration.ofSeconds(number("artifacts.await.seconds", 30));
+        loadModel = string("load.model", "open");
+        loadRate = decimal("load.rate", 1);
+        loadUsers = integer("load.users", 4);
+        loadDuration = Duration.ofSeconds(number("load.duration.seconds", 300));
+        loadPacing = Duration.ofMillis(number("load.pacing.ms", 5000));
+        loadDrain = Duration.ofSeconds(number("load.drain.seconds", 60));
+        loadSloP95 = Duration.ofMillis(number("load.slo.p95.ms", 8000));
+        loadSloP99 = Duration.ofMillis(number("load.slo.p99.ms", 15000));
+        loadSloErrorRate = decimal("load.slo.error.rate", 0.01);
+    }
+
+    // --- Generic lookups (already resolved; values are trimmed) ---
+
+    /** The value of {@code key}; throws if it is missing or blank */
+    public String string(String key) {
+        String value = lookup(key);
+        if (value == null || value.isEmpty()) {
+            throw new RuntimeException("Missing required property: " + key);
+        }
+        return value;
+    }
+
+    /** The value of {@code key}, or {@code defaultValue} when it is not set at all (an empty value is kept) */
+    public String string(String key, String defaultValue) {
+        String value = lookup(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /** The value of {@code key}, or {@code defaultValue} when it is missing or blank */
+    public String nonBlank(String key, String defaultValue) {
+        String value = lookup(key);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    public boolean bool(String key, boolean defaultValue) {
+        String value = lookup(key);
+        return value == null || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public int integer(String key, int defaultValue) {
+        return (int) parse(key, defaultValue, Integer::parseInt);
+    }
+
+    public long number(String key, long defaultValue) {
+        return parse(key, defaultValue, Long::parseLong);
+    }
+
+    public double decimal(String key, double defaultValue) {
+        String value = lookup(key);
+        if (value == null || value.isEmpty()) return defaultValue;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Property " + key + " is not a number: '" + value + "'", e);
+        }
+    }
+
+    /**
+     * The resolved value of {@code key}. Keys that neither file defines are still looked up in -D system
+     * properties and the environment (see {@link TestConfig#external}), so every key can be set that way.
+     */
+    private String lookup(String key) {
+        String value = values.get(key);
+        return value != null ? value : TestConfig.external(key);
+    }
+
+    /** Every key resolved from the files (plus their -D / environment / runtime overrides), sorted by key */
+    public Map<String, String> values() {
+        return values;
+    }
+
+    /** The profile overlay in effect (staging, local-mock, throughput, ...); empty for none */
+    public String profile() {
+        return profile;
+    }
+
+    // --- Typed settings ---
+
+    public boolean headless() { return headless; }
+
+    public String signupMode() { return signupMode; }
+
+    public int signupCount() { return signupCount; }
+
+    /** Per-signup deadline in multi-tab mode */
+    public Duration signupTimeout() { return signupTimeout; }
+
+    public Duration signupCaptureTimeout() { return signupCaptureTimeout; }
+
+    public int driverPoolSize() { return driverPoolSize; }
+
+    public int driverPoolMaxUses() { return driverPoolMaxUses; }
+
+    public int driverTabsPerBrowser() { return driverTabsPerBrowser; }
+
+    public int pipelineExtractWorkers() { return pipelineExtractWorkers; }
+
+    public int pipelineQueueCapacity() { return pipelineQueueCapacity; }
+
+    public Duration pipelineFollowIdle() { return pipelineFollowIdle; }
+
+    public Duration sessionTtl() { return sessionTtl; }
+
+    public int apiConcurrency() { return apiConcurrency; }
+
+    public int apiMaxInFlight() { return apiMaxInFlight; }
+
+    /** Adaptive rate limit of the bff-api client, in requests per second */
+    public double apiRateInitial() { return apiRateInitial; }
+
+    public double apiRateMin() { return apiRateMin; }
+
+    public double apiRateMax() { return apiRateMax; }
+
+    public Duration apiLatencyTarget() { return apiLatencyTarget; }
+
+    public int apiRetryMaxAttempts() { return apiRetryMaxAttempts; }
+
+    public Duration apiRetryBaseDelay() { return apiRetryBaseDelay; }
+
+    public Duration apiRetryMaxDelay() { return apiRetryMaxDelay; }
+
+    public Duration apiRequestDeadline() { return apiRequestDeadline; }
+
+    public int artifactsWriterThreads() { return artifactsWriterThreads; }
+
+    public int artifactsQueueCapacity() { return artifactsQueueCapacity; }
+
+    public Duration artifactsAwait() { return artifactsAwait; }
+
+    /** Load/soak mode: open (arrival rate) or closed (fixed users) */
+    public String loadModel() { return loadModel; }
+
+    /** Open-model arrivals per second; re-read during a run, so a config.watch reload re-paces it */
+    public double loadRate() { return loadRate; }
+
+    public int loadUsers() { return loadUsers; }
+
+    public Duration loadDuration() { return loadDuration; }
+
+    /** Closed model: how often each user starts a signup (0 = straight after the previous one) */
+    public Duration loadPacing() { return loadPacing; }
+
+    public Duration loadDrain() { return loadDrain; }
+
+    public Duration loadSloP95() { return loadSloP95; }
+
+    public Duration loadSloP99() { return loadSloP99; }
+
+    public double loadSloErrorRate() { return loadSloErrorRate; }
+
+    private long parse(String key, long defaultValue, ToLongFunction<String> parser) {
+        String value = lookup(key);
+        if (value == null || value.isEmpty()) return defaultValue;
+        try {
+            return parser.applyAsLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Property " + key + " is not a whole number: '" + value + "'", e);
+        }
+    }
+}
@@ -1,11 +1,25 @@
 package config;
 
 
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 /**
  * TestConfig.java
@@ -13,75 +27,227 @@ import java.util.Properties;
  * A centralized configuration utility for reading test environment settings
  * such as base URLs, credentials, form IDs, and output file paths.
  *
+ * Every setting is resolved once into an immutable {@link ConfigSnapshot}, highest priority first:
+ *   1. runtime overrides ({@link #override}, e.g. the mock server's URLs)
+ *   2. -D system properties
+ *   3. environment variables (signup.count -> SIGNUP_COUNT; api.token also from AUTH_TOKEN)
+ *   4. the profile overlay src/test/resources/profiles/<config.profile>.properties
+ *   5. src/test/resources/test.properties
+ * Keys present in 4 or 5 are resolved into the snapshot (and listed by {@link #printConfigSummary});
+ * any other key is looked up in 2 and 3 when it is read, so e.g. -Dbrowser.block.urls=... works without
+ * an entry in test.properties. With config.watch=true the files are watched and a changed file
+ * swaps in a new snapshot; code that re-reads {@link #get()} picks the new values up.
+ *
  * Usage Example:
  *   String baseUrl = TestConfig.getBaseUrl();
- *   String username = TestConfig.getAdminUsername();
+ *   int browsers = TestConfig.get().driverPoolSize();
+ *   String journal = TestConfig.get().string("pipeline.journal", "target/pipeline-journal.csv");
  */
 public class TestConfig {
 
-    public static final Properties props = new Properties();
+    private static final Path CONFIG_FILE = Paths.get(System.getProperty("config.file", "src/test/resources/test.properties"));
+    private static final Path PROFILES_DIR = CONFIG_FILE.toAbsolutePath().getParent().resolve("profiles");
+    // Variables that predate the KEY_NAME convention
+    private static final Map<String, String> ENV_ALIASES = Map.of("api.token", "AUTH_TOKEN");
+    private static final Pattern SECRET_KEY = Pattern.compile("(?i).*(token|password|passwd|secret|credential|api\\.?key).*");
+
+    private static final Map<String, String> overrides = new LinkedHashMap<>();
+    private static final List<Consumer<ConfigSnapshot>> reloadListeners = new CopyOnWriteArrayList<>();
+    private static volatile ConfigSnapshot current;
+    private static Thread watcher;
 
     // Load properties once when class is initialized
     static {
-        String configPath = "src/test/resources/test.properties";
-        try (InputStream input = new FileInputStream(Paths.get(configPath).toFile())) {
+        try {
+            current = load();
+        } catch (RuntimeException e) {
+            System.err.println("[TestConfig] ERROR: Could not load test.properties file!");
+            throw e;
+        }
+        System.out.println("[TestConfig] Loaded configuration from: " + CONFIG_FILE
+                + (current.profile().isEmpty() ? "" : " with profile " + current.profile()));
+        if (current.bool("config.watch", false)) {
+            watch();
+        }
+    }
+
+    /** The current snapshot; a volatile read, so it is cheap enough to call per use */
+    public static ConfigSnapshot get() {
+        return current;
+    }
+
+    /** Pins {@code key} to {@code value} above every other source, surviving reloads */
+    public static synchronized void override(String key, String value) {
+        overrides.put(key, value);
+        current = load();
+    }
+
+    /** Re-reads the files, environment and system properties; on error the previous snapshot stays */
+    public static synchronized ConfigSnapshot reload() {
+        ConfigSnapshot previous = current;
+        try {
+            current = load();
+        } catch (RuntimeException e) {
+            System.err.println("[TestConfig] Reload failed, keeping the previous configuration: " + e.getMessage());
+            return previous;
+        }
+        for (Map.Entry<String, String> entry : current.values().entrySet()) {
+            if (!entry.getValue().equals(previous.values().get(entry.getKey()))) {
+                System.out.println("[TestConfig] " + entry.getKey() + " = " + display(entry.getKey(), entry.getValue()));
+            }
+        }
+        for (Consumer<ConfigSnapshot> listener : reloadListeners) {
+            listener.accept(current);
+        }
+        return current;
+    }
+
+    /** Called with the new snapshot after every successful reload */
+    public static void onReload(Consumer<ConfigSnapshot> listener) {
+        reloadListeners.add(listener);
+    }
+
+    /** Reloads whenever test.properties or a profile file changes (a daemon thread; idempotent) */
+    public static synchronized void watch() {
+        if (watcher != null) {
+            return;
+        }
+        WatchService service;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+            CONFIG_FILE.toAbsolutePath().getParent().register(service,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            if (Files.isDirectory(PROFILES_DIR)) {
+                PROFILES_DIR.register(service, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to watch " + CONFIG_FILE + " for changes", e);
+        }
+        watcher = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = service.take();
+                    boolean changed = key.pollEvents().stream()
+                            .anyMatch(event -> event.context().toString().endsWith(".properties"));
+                    key.reset();
+                    if (changed) {
+                        // Editors save in several steps; let them finish and collapse the burst into one reload
+                        Thread.sleep(200);
+                        WatchKey more;
+                        while ((more = service.poll()) != null) {
+                            more.pollEvents();
+                            more.reset();
+                        }
+                        System.out.println("[TestConfig] Configuration changed on disk, reloading");
+                        reload();
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // Stopped
+            }
+        }, "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        System.out.println("[TestConfig] Watching " + CONFIG_FILE.toAbsolutePath().getParent() + " for changes");
+    }
+
+    private static ConfigSnapshot load() {
+        Map<String, String> values = new HashMap<>(read(CONFIG_FILE));
+
+        String profile = firstNonBlank(System.getProperty("config.profile"), System.getenv("CONFIG_PROFILE"),
+                values.get("config.profile"));
+        if (!profile.isEmpty()) {
+            Path overlay = PROFILES_DIR.resolve(profile + ".properties");
+            if (!Files.exists(overlay)) {
+                throw new IllegalArgumentException("Unknown config.profile '" + profile + "' (no " + overlay + ")");
+            }
+            values.putAll(read(overlay));
+        }
+        values.put("config.profile", profile);
+
+        for (String key : List.copyOf(values.keySet())) {
+            String value = external(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        values.putAll(overrides);
+        return new ConfigSnapshot(values, profile);
+    }
+
+    /** The -D system property for {@code key}, else its environment variable (signup.count -> SIGNUP_COUNT), else null */
+    static String external(String key) {
+        String sys = System.getProperty(key);
+        if (sys != null) {
+            return sys.trim();
+        }
+        String env = System.getenv(key.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "_"));
+        if (env == null && ENV_ALIASES.containsKey(key)) {
+            env = System.getenv(ENV_ALIASES.get(key));
+        }
+        return env != null ? env.trim() : null;
+    }
+
+    /** {@code value} for logs: secret-looking keys (api.token, admin.password, ...) are masked */
+    public static String display(String key, String value) {
+        return SECRET_KEY.matcher(key).matches() && !value.isEmpty() ? "****" : value;
+    }
+
+    private static Map<String, String> read(Path file) {
+        Properties props = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
             props.load(input);
-            System.out.println("[TestConfig] Loaded configuration from: " + configPath);
         } catch (IOException e) {
-            System.err.println("[TestConfig] ERROR: Could not load test.properties file!");
-            throw new RuntimeException("Failed to load configuration from " + configPath, e);
+            throw new RuntimeException("Failed to load configuration from " + file, e);
+        }
+        Map<String, String> values = new HashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            values.put(key, props.getProperty(key).trim());
+        }
+        return values;
+    }
+
+    private static String firstNonBlank(String... candidates) {
+        for (String candidate : candidates) {
+            if (candidate != null && !candidate.isBlank()) return candidate.trim();
         }
+        return "";
     }
 
     // --- Helper methods to get configuration values ---
 
     public static String getBaseUrl() {
-        return getProperty("base.url");
+        return get().string("base.url");
     }
 
     public static String getSignupFormUrl() {
-        return getProperty("signup.form.url");
+        return get().string("signup.form.url");
     }
 
     public static String getAdminUsername() {
-        return getProperty("admin.username");
+        return get().string("admin.username");
     }
 
     public static String getAdminPassword() {
-        return getProperty("admin.password");
+        return get().string("admin.password");
     }
 
     public static String getOutputFile() {
-        return getProperty("output.file", "target/email_to_cardId.csv");
+        return get().nonBlank("output.file", "target/email_to_cardId.csv");
     }
 
     public static String getBrowser() {
-        return getProperty("browser", "chrome");
+        return get().nonBlank("browser", "chrome");
     }
 
     public static boolean isHeadless() {
-        return Boolean.parseBoolean(getProperty("headless", "false"));
-    }
-
-    // Generic property getter (throws if missing)
-    private static String getProperty(String key) {
-        String value = System.getProperty(key, props.getProperty(key));
-        if (value == null || value.trim().isEmpty()) {
-            throw new RuntimeException("Missing required property: " + key);
-        }
-        return value.trim();
-    }
-
-    // Generic property getter with default value
-    private static String getProperty(String key, String defaultValue) {
-        return System.getProperty(key, props.getProperty(key, defaultValue)).trim();
+        return get().headless();
     }
 
     // Print all loaded configs (useful for debugging)
     public static void printConfigSummary() {
         System.out.println("\n========== Test Configuration ==========");
-        props.forEach((k, v) -> System.out.println(k + " = " + v));
+        get().values().forEach((k, v) -> System.out.println(k + " = " + display(k, v)));
         System.out.println("========================================\n");
     }
 }
-